@@ -0,0 +1,65 @@
+package io.lcalmsky.querydsl;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Boots the JPA layer against a private in-memory H2 database seeded with a fixed, reproducible data set.
+ */
+public class BenchmarkApplication {
+    public static final int TEAMS = 20;
+    public static final String TEAM_NAME = "Team 7";
+
+    private static final int BATCH_SIZE = 10_000;
+
+    public static ConfigurableApplicationContext start(int players, String... properties) {
+        return start(WebApplicationType.NONE, players, properties);
+    }
+
+    /**
+     * Same data set behind an embedded web server on a random port, for driving the HTTP API.
+     */
+    public static ConfigurableApplicationContext startServer(int players, String... properties) {
+        return start(WebApplicationType.SERVLET, players, properties);
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, int players, String... properties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(webApplicationType)
+                .properties("server.port=0")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.jpa.properties.hibernate.use_sql_comments=false",
+                        "logging.level.org.hibernate.SQL=warn",
+                        "logging.level.org.hibernate.type.descriptor.sql=warn")
+                .properties(properties)
+                .run();
+        seed(context.getBean(JdbcTemplate.class), players);
+        return context;
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int players) {
+        Random random = new Random(42);
+        List<Object[]> teams = new ArrayList<>();
+        for (long teamId = 1; teamId <= TEAMS; teamId++) {
+            teams.add(new Object[]{teamId, "Team " + teamId});
+        }
+        jdbcTemplate.batchUpdate("insert into team (team_id, name) values (?, ?)", teams);
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long playerId = 1; playerId <= players; playerId++) {
+            batch.add(new Object[]{playerId, "Player " + playerId, 17 + random.nextInt(20), 1L + random.nextInt(TEAMS),
+                    random.nextInt(10) != 0, 1_000 * (10 + random.nextInt(390))});
+            if (batch.size() == BATCH_SIZE || playerId == players) {
+                jdbcTemplate.batchUpdate("insert into player (player_id, name, age, team_id, in_season, weekly_salary) values (?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
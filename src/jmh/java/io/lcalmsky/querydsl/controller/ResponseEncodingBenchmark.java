@@ -0,0 +1,100 @@
+package io.lcalmsky.querydsl.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost and size of writing a page of {@link PlayerDetails} in each response encoding, with the reflective bean
+ * serializer ({@code json-reflective}) as the baseline. Run with
+ * {@code ./gradlew jmh -PjmhIncludes=ResponseEncodingBenchmark}; {@code payloadBytes} in the secondary results is the
+ * encoded size of one page.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ResponseEncodingBenchmark {
+    @Param({"20", "1000", "100000"})
+    private int rows;
+
+    @Param({"json-reflective", "json", "smile", "cbor"})
+    private String encoding;
+
+    private List<PlayerDetails> page;
+    private ObjectWriter objectWriter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        page = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            page.add(new PlayerDetails("Player " + i, 17 + random.nextInt(20), random.nextInt(10) != 0,
+                    1_000 * (10 + random.nextInt(390)), "Team " + (1 + random.nextInt(20))));
+        }
+        // the declared return type, as Spring MVC passes it
+        objectWriter = mapper(encoding).writerFor(new TypeReference<List<PlayerDetails>>() {
+        });
+    }
+
+    @Benchmark
+    public int write(Payload payload) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(rows * 64);
+        objectWriter.writeValue(outputStream, page);
+        payload.payloadBytes = outputStream.size();
+        return outputStream.size();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long payloadBytes;
+    }
+
+    private static ObjectMapper mapper(String encoding) {
+        switch (encoding) {
+            case "json-reflective":
+                return new ObjectMapper();
+            case "json":
+                return generated(new ObjectMapper());
+            case "smile":
+                return generated(new ObjectMapper(new SmileFactory()));
+            case "cbor":
+                return generated(new ObjectMapper(new CBORFactory()));
+            default:
+                throw new IllegalArgumentException(encoding);
+        }
+    }
+
+    private static ObjectMapper generated(ObjectMapper objectMapper) {
+        return objectMapper.registerModule(new SimpleModule()
+                .addSerializer(new PlayerSerializers.PlayerDetailsSerializer())
+                .addSerializer(new PlayerSerializers.PlayerWithTeamDataSerializer()));
+    }
+}
@@ -0,0 +1,87 @@
+package io.lcalmsky.querydsl.domain;
+
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.QBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static io.lcalmsky.querydsl.domain.QPlayer.player;
+import static io.lcalmsky.querydsl.domain.QTeam.team;
+
+/**
+ * Per-row cost of turning a result row into a {@link PlayerDetails}, the step Querydsl runs for every row after
+ * Hibernate has read it. No database is involved so the numbers isolate the projection strategy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ProjectionBenchmark {
+    private final QBean<PlayerDetails> bean = Projections.bean(PlayerDetails.class, player.name, player.age, player.inSeason, player.weeklySalary, team.name.as("teamName"));
+    private final QBean<PlayerDetails> fields = Projections.fields(PlayerDetails.class, player.name, player.age, player.inSeason, player.weeklySalary, team.name.as("teamName"));
+    private final ConstructorExpression<PlayerDetails> constructor = Projections.constructor(PlayerDetails.class, player.name, player.age, player.inSeason, player.weeklySalary, team.name);
+    private final QPlayerDetails generated = new QPlayerDetails(player.name, player.age, player.inSeason, player.weeklySalary, team.name);
+
+    @Param("1000000")
+    private int rows;
+    private Object[][] resultRows;
+
+    @Setup
+    public void setup() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        resultRows = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            resultRows[i] = new Object[]{"Player " + i, 17 + random.nextInt(20), random.nextBoolean(), random.nextInt(400_000), "Team " + random.nextInt(20)};
+        }
+    }
+
+    @Benchmark
+    public void bean(Blackhole blackhole) {
+        map(bean, blackhole);
+    }
+
+    @Benchmark
+    public void fields(Blackhole blackhole) {
+        map(fields, blackhole);
+    }
+
+    @Benchmark
+    public void constructor(Blackhole blackhole) {
+        map(constructor, blackhole);
+    }
+
+    @Benchmark
+    public void generated(Blackhole blackhole) {
+        map(generated, blackhole);
+    }
+
+    @Benchmark
+    public void handWritten(Blackhole blackhole) {
+        for (Object[] row : resultRows) {
+            blackhole.consume(new PlayerDetails((String) row[0], (Integer) row[1], (Boolean) row[2], (Integer) row[3], (String) row[4]));
+        }
+    }
+
+    private void map(FactoryExpression<PlayerDetails> projection, Blackhole blackhole) {
+        for (Object[] row : resultRows) {
+            blackhole.consume(projection.newInstance(row));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package io.lcalmsky.querydsl.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.lcalmsky.querydsl.BenchmarkApplication;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.QPlayerDetails;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static io.lcalmsky.querydsl.domain.QPlayer.player;
+import static io.lcalmsky.querydsl.domain.QTeam.team;
+
+/**
+ * Per-request Querydsl build and serialization against the prepared templates, on a small table so the query
+ * itself doesn't drown out the difference. Run with {@code ./gradlew jmh -PjmhIncludes=PlayerQueryTemplateBenchmark}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PlayerQueryTemplateBenchmark {
+    private ConfigurableApplicationContext context;
+    private JPAQueryFactory queryFactory;
+    private PlayerQueryTemplates playerQueryTemplates;
+    private PlayerQueryParam playerQueryParam;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start(1000);
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        queryFactory = new JPAQueryFactory(entityManager);
+        playerQueryTemplates = new PlayerQueryTemplates(entityManager);
+
+        playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName(BenchmarkApplication.TEAM_NAME);
+        playerQueryParam.setAge(27);
+        pageable = PageRequest.of(0, 20, Sort.by(Sort.Order.asc("weeklySalary")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PlayerDetails> built() {
+        JPAQuery<PlayerDetails> query = queryFactory
+                .select(new QPlayerDetails(player.name, player.age, player.inSeason, player.weeklySalary, team.name))
+                .from(player);
+        return (playerQueryParam.getTeamName() == null ? query.leftJoin(player.team, team) : query.join(player.team, team))
+                .where(condition(playerQueryParam.getName(), player.name::eq),
+                        condition(playerQueryParam.getAge(), player.age::eq),
+                        condition(playerQueryParam.getTeamName(), team.name::eq))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .orderBy(player.weeklySalary.asc(), player.id.asc())
+                .fetch();
+    }
+
+    @Benchmark
+    public List<PlayerDetails> prepared() {
+        return playerQueryTemplates.fetch(playerQueryParam, pageable);
+    }
+
+    private <T> BooleanExpression condition(T value, Function<T, BooleanExpression> function) {
+        return Optional.ofNullable(value).map(function).orElse(null);
+    }
+}
@@ -0,0 +1,108 @@
+package io.lcalmsky.querydsl.repository;
+
+import io.lcalmsky.querydsl.BenchmarkApplication;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.PlayerWithTeamData;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query building, execution and mapping cost of the search methods, per repository implementation.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=PlayerRepositoryBenchmark}; the gc profiler configured in build.gradle
+ * adds the allocation rate. The search and count caches are off, so every call runs its queries and the count pages of
+ * both implementations run {@code count(*)}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PlayerRepositoryBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int players;
+
+    private ConfigurableApplicationContext context;
+    private CustomPlayerRepository repositoryImpl;
+    private CustomPlayerRepository supportedImpl;
+    private PlayerQuerydslRepository querydslRepository;
+    private PlayerQueryParam teamAndAge;
+    private PlayerQueryParam teamOnly;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // measures the queries, not cache hits
+        context = BenchmarkApplication.start(players, "player.search-cache.enabled=false", "player.count.ttl=0");
+        repositoryImpl = context.getBean(PlayerRepository.class);
+        supportedImpl = context.getAutowireCapableBeanFactory().createBean(PlayerRepositorySupportedImpl.class);
+        querydslRepository = context.getBean(PlayerQuerydslRepository.class);
+
+        teamAndAge = new PlayerQueryParam();
+        teamAndAge.setTeamName(BenchmarkApplication.TEAM_NAME);
+        teamAndAge.setAge(27);
+        teamOnly = new PlayerQueryParam();
+        teamOnly.setTeamName(BenchmarkApplication.TEAM_NAME);
+        pageable = PageRequest.of(2, 20, Sort.by(Sort.Order.asc("weeklySalary")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PlayerDetails> findPlayerTeamByRepositoryImpl() {
+        return repositoryImpl.findPlayerTeamBy(teamAndAge);
+    }
+
+    @Benchmark
+    public List<PlayerDetails> findPlayerTeamBySupportedImpl() {
+        return supportedImpl.findPlayerTeamBy(teamAndAge);
+    }
+
+    @Benchmark
+    public List<PlayerWithTeamData> findPlayerTeamByQuerydslRepository() {
+        return querydslRepository.findPlayerTeamBy(teamAndAge);
+    }
+
+    @Benchmark
+    public Page<PlayerDetails> findPlayerTeamPageByRepositoryImpl() {
+        return repositoryImpl.findPlayerTeamPageBy(teamOnly, pageable);
+    }
+
+    @Benchmark
+    public Page<PlayerDetails> findPlayerTeamPageBySupportedImpl() {
+        return supportedImpl.findPlayerTeamPageBy(teamOnly, pageable);
+    }
+
+    @Benchmark
+    public Page<PlayerDetails> findPlayerTeamCountPageByRepositoryImpl() {
+        return repositoryImpl.findPlayerTeamCountPageBy(teamOnly, pageable);
+    }
+
+    @Benchmark
+    public Page<PlayerDetails> findPlayerTeamCountPageBySupportedImpl() {
+        return supportedImpl.findPlayerTeamCountPageBy(teamOnly, pageable);
+    }
+}
@@ -0,0 +1,113 @@
+package io.lcalmsky.querydsl.repository;
+
+import io.lcalmsky.querydsl.BenchmarkApplication;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.repository.sql.SqlPlayerRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The JPA search against the Querydsl SQL one ({@link SqlPlayerRepository}) on the same queries, with the search
+ * cache off so every call reaches the database. Run with
+ * {@code ./gradlew jmh -PjmhIncludes=SqlPlayerRepositoryBenchmark}; {@code rows} in the secondary results is the rows
+ * returned per call, so {@code gc.alloc.rate.norm / rows} is the allocation per row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class SqlPlayerRepositoryBenchmark {
+    private static final int PLAYERS = 100_000;
+
+    @Param({"jpa", "sql"})
+    private String backend;
+
+    @Param({"20", "1000"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private CustomPlayerRepository repository;
+    private TransactionTemplate transactionTemplate;
+    private PlayerQueryParam teamAndAge;
+    private PlayerQueryParam teamOnly;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start(PLAYERS, "player.search-cache.enabled=false");
+        repository = backend.equals("sql") ? context.getBean(SqlPlayerRepository.class) : context.getBean(PlayerRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+
+        teamAndAge = new PlayerQueryParam();
+        teamAndAge.setTeamName(BenchmarkApplication.TEAM_NAME);
+        teamAndAge.setAge(27);
+        teamOnly = new PlayerQueryParam();
+        teamOnly.setTeamName(BenchmarkApplication.TEAM_NAME);
+        pageable = PageRequest.of(1, pageSize, Sort.by(Sort.Order.asc("weeklySalary")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PlayerDetails> findPlayerTeamBy(Rows rows) {
+        List<PlayerDetails> players = repository.findPlayerTeamBy(teamAndAge);
+        rows.rows += players.size();
+        return players;
+    }
+
+    @Benchmark
+    public Page<PlayerDetails> findPlayerTeamCountPageBy(Rows rows) {
+        Page<PlayerDetails> players = repository.findPlayerTeamCountPageBy(teamOnly, pageable);
+        rows.rows += players.getNumberOfElements();
+        return players;
+    }
+
+    @Benchmark
+    public void streamPlayerTeamBy(Rows rows, Blackhole blackhole) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<PlayerDetails> players = repository.streamPlayerTeamBy(teamOnly)) {
+                players.forEach(player -> {
+                    blackhole.consume(player);
+                    rows.rows++;
+                });
+            }
+        });
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Rows {
+        public long rows;
+    }
+}
@@ -0,0 +1,86 @@
+package io.lcalmsky.querydsl.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Response times per endpoint in microseconds. Recording is lock-free; {@link #reset()} drops what was recorded so
+ * far, which is how the warmup is discarded.
+ */
+class LatencyReport {
+    private static final String TOTAL = "total";
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<String, Recorder> recorders = new LinkedHashMap<>();
+    private final Map<String, LongAdder> errors = new LinkedHashMap<>();
+
+    LatencyReport(Iterable<String> endpoints) {
+        for (String endpoint : endpoints) {
+            recorders.put(endpoint, new Recorder(3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    void record(String endpoint, long latencyNanos, boolean success) {
+        recorders.get(endpoint).recordValue(Math.max(1, latencyNanos / 1000));
+        if (!success) {
+            errors.get(endpoint).increment();
+        }
+    }
+
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Prints p50/p99/p999 and throughput to the console and writes the same summary plus a percentile distribution
+     * per endpoint (loadable in HdrHistogram's plotter) to {@code directory}.
+     */
+    void write(Path directory, Duration elapsed, String description) throws IOException {
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        Histogram total = new Histogram(3);
+        recorders.forEach((endpoint, recorder) -> {
+            Histogram histogram = recorder.getIntervalHistogram();
+            histograms.put(endpoint, histogram);
+            total.add(histogram);
+        });
+        histograms.put(TOTAL, total);
+
+        Files.createDirectories(directory);
+        StringBuilder summary = new StringBuilder(description).append(System.lineSeparator())
+                .append(String.format("%-12s %10s %8s %10s %10s %10s %10s %10s %10s%n",
+                        "endpoint", "requests", "errors", "req/s", "mean(ms)", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            long failed = entry.getKey().equals(TOTAL)
+                    ? errors.values().stream().mapToLong(LongAdder::sum).sum()
+                    : errors.get(entry.getKey()).sum();
+            summary.append(String.format("%-12s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                    entry.getKey(),
+                    histogram.getTotalCount(),
+                    failed,
+                    histogram.getTotalCount() / (elapsed.toMillis() / 1000.0),
+                    histogram.getMean() / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                    histogram.getMaxValue() / MICROS_PER_MILLI));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey() + ".hgrm")), false, StandardCharsets.UTF_8)) {
+                histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        Files.writeString(directory.resolve("summary.txt"), summary);
+        System.out.print(summary);
+    }
+}
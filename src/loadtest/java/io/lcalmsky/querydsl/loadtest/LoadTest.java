@@ -0,0 +1,143 @@
+package io.lcalmsky.querydsl.loadtest;
+
+import io.lcalmsky.querydsl.BenchmarkApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives {@code /v1/players}, {@code /v2/players} and {@code /v3/players} (and their {@code /reactive} counterparts)
+ * with a weighted request mix and writes latency percentiles and throughput per endpoint, plus {@link ThreadUsage}
+ * when the application runs in-process. Boots the application on a random port against the
+ * {@link BenchmarkApplication} data set unless {@code baseUrl} is given.
+ * <p>
+ * Run with {@code ./gradlew loadTest -PloadTestArgs="concurrency=32 mix=v1:1,v3:4 app.player.search.backend=memory"};
+ * see {@link LoadTestOptions} for the other options. With {@code rate} set, each worker follows a fixed schedule and
+ * latency is measured from when a request was due rather than when it was sent, so a stalled server shows up in the
+ * percentiles instead of just lowering the request count.
+ * <p>
+ * To compare the blocking and reactive searches at high concurrency, run the same load against each, e.g.
+ * {@code concurrency=400 mix=v2:1} and {@code concurrency=400 mix=reactive-v2:1}, and compare req/s, the percentiles
+ * and the busy servlet threads in the two summaries.
+ */
+public class LoadTest {
+    private static final DateTimeFormatter REPORT_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.getBaseUrl();
+        if (baseUrl == null) {
+            context = BenchmarkApplication.startServer(options.getPlayers(), options.getApplicationProperties().toArray(String[]::new));
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+        try {
+            run(options, baseUrl, context != null);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static void run(LoadTestOptions options, String baseUrl, boolean inProcess) throws Exception {
+        RequestMix requestMix = new RequestMix(options);
+        LatencyReport report = new LatencyReport(options.getMix().keySet());
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(options.getConcurrency());
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(options.getTimeout())
+                .executor(clientExecutor)
+                .build();
+        long intervalNanos = options.getRate() == 0 ? 0 : TimeUnit.SECONDS.toNanos(options.getConcurrency()) / options.getRate();
+        long start = System.nanoTime();
+        long measureFrom = start + options.getWarmup().toNanos();
+        long deadline = measureFrom + options.getDuration().toNanos();
+
+        ThreadUsage threadUsage = new ThreadUsage();
+        if (inProcess) {
+            threadUsage.start();
+        }
+        ExecutorService workers = Executors.newFixedThreadPool(options.getConcurrency());
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < options.getConcurrency(); i++) {
+            Random random = new Random(i);
+            // spreads the first requests of paced workers over one interval
+            long firstDue = start + intervalNanos * i / options.getConcurrency();
+            futures.add(workers.submit(() -> drive(httpClient, baseUrl, options, requestMix, report, random, firstDue, intervalNanos, deadline)));
+        }
+        sleepUntil(measureFrom);
+        report.reset();
+        threadUsage.reset();
+        long measuredFrom = System.nanoTime();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - measuredFrom);
+        String threads = threadUsage.stop();
+        workers.shutdown();
+        clientExecutor.shutdown();
+
+        String description = String.format("%s concurrency=%d rate=%s duration=%s mix=%s players=%d properties=%s",
+                baseUrl, options.getConcurrency(), options.getRate() == 0 ? "closed-loop" : options.getRate() + "/s",
+                elapsed, options.getMix(), options.getPlayers(), options.getApplicationProperties());
+        if (inProcess) {
+            description += System.lineSeparator() + threads;
+        }
+        report.write(Path.of(options.getReport(), LocalDateTime.now().format(REPORT_NAME)), elapsed, description);
+    }
+
+    private static void drive(HttpClient httpClient, String baseUrl, LoadTestOptions options, RequestMix requestMix,
+                              LatencyReport report, Random random, long firstDue, long intervalNanos, long deadline) {
+        long due = firstDue;
+        while (true) {
+            if (intervalNanos > 0) {
+                sleepUntil(due);
+            } else {
+                due = System.nanoTime();
+            }
+            if (due >= deadline) {
+                return;
+            }
+            RequestMix.Request request = requestMix.next(random);
+            boolean success;
+            try {
+                HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + request.getPath()))
+                        .timeout(options.getTimeout())
+                        .header("Accept", "application/json")
+                        .GET()
+                        .build(), HttpResponse.BodyHandlers.discarding());
+                success = response.statusCode() / 100 == 2;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                success = false;
+            }
+            report.record(request.getEndpoint(), System.nanoTime() - due, success);
+            due += intervalNanos;
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package io.lcalmsky.querydsl.loadtest;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code key=value} arguments of {@link LoadTest}. Arguments starting with {@code app.} are passed to the booted
+ * application as properties, e.g. {@code app.player.search.backend=memory}. The search cache is off unless
+ * {@code app.player.search-cache.enabled=true} is given, so repeated filters measure the queries.
+ */
+@Data
+public class LoadTestOptions {
+    /**
+     * Target an already running instance instead of booting one.
+     */
+    private String baseUrl;
+    private int players = 100_000;
+    private int concurrency = 16;
+    /**
+     * Requests per second across all workers; 0 runs closed-loop as fast as responses come back.
+     */
+    private int rate;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(30);
+    private Duration timeout = Duration.ofSeconds(10);
+    /**
+     * Relative weight of each endpoint: {@code v1}, {@code v2}, {@code v3}, {@code reactive-v2}, {@code reactive-v3}.
+     */
+    private Map<String, Integer> mix = mix("v1:1,v2:1,v3:1");
+    /**
+     * Probability of each filter appearing in a request.
+     */
+    private double teamNameRate = 0.8;
+    private double ageRate = 0.5;
+    private double nameRate = 0.05;
+    private int pageSize = 20;
+    private int maxPage = 10;
+    private String report = "reports/loadtest";
+    private List<String> applicationProperties = new ArrayList<>(List.of("player.search-cache.enabled=false"));
+
+    public static LoadTestOptions parse(String... args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("expected key=value but was " + arg);
+            }
+            String key = arg.substring(0, separator);
+            String value = arg.substring(separator + 1);
+            if (key.startsWith("app.")) {
+                options.applicationProperties.add(arg.substring("app.".length()));
+                continue;
+            }
+            switch (key) {
+                case "baseUrl":
+                    options.baseUrl = value;
+                    break;
+                case "players":
+                    options.players = Integer.parseInt(value);
+                    break;
+                case "concurrency":
+                    options.concurrency = Integer.parseInt(value);
+                    break;
+                case "rate":
+                    options.rate = Integer.parseInt(value);
+                    break;
+                case "warmup":
+                    options.warmup = duration(value);
+                    break;
+                case "duration":
+                    options.duration = duration(value);
+                    break;
+                case "timeout":
+                    options.timeout = duration(value);
+                    break;
+                case "mix":
+                    options.mix = mix(value);
+                    break;
+                case "teamNameRate":
+                    options.teamNameRate = Double.parseDouble(value);
+                    break;
+                case "ageRate":
+                    options.ageRate = Double.parseDouble(value);
+                    break;
+                case "nameRate":
+                    options.nameRate = Double.parseDouble(value);
+                    break;
+                case "pageSize":
+                    options.pageSize = Integer.parseInt(value);
+                    break;
+                case "maxPage":
+                    options.maxPage = Integer.parseInt(value);
+                    break;
+                case "report":
+                    options.report = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown option " + key);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * {@code 30s}, {@code 5m} or an ISO-8601 duration.
+     */
+    private static Duration duration(String value) {
+        if (value.startsWith("P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+        return Duration.parse("PT" + value);
+    }
+
+    /**
+     * {@code v1:1,v2:2,v3:1}
+     */
+    private static Map<String, Integer> mix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] weight = entry.split(":");
+            mix.put(weight[0].trim(), weight.length == 1 ? 1 : Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,69 @@
+package io.lcalmsky.querydsl.loadtest;
+
+import io.lcalmsky.querydsl.BenchmarkApplication;
+import lombok.Data;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+
+/**
+ * Picks an endpoint by weight and fills in filters drawn from the data set {@link BenchmarkApplication} seeds:
+ * team names uniform over the teams, ages uniform over the seeded range, exact player names by id.
+ * {@code reactive-v2} and {@code reactive-v3} are the same searches under {@code /reactive}.
+ */
+class RequestMix {
+    private static final List<String> SORTS = List.of("name", "age,desc", "weeklySalary,desc", "team.name");
+
+    private final LoadTestOptions options;
+    private final List<String> endpoints = new ArrayList<>();
+
+    RequestMix(LoadTestOptions options) {
+        this.options = options;
+        for (Map.Entry<String, Integer> entry : options.getMix().entrySet()) {
+            if (!entry.getKey().matches("v[123]|reactive-v[23]")) {
+                throw new IllegalArgumentException("unknown endpoint " + entry.getKey());
+            }
+            for (int i = 0; i < entry.getValue(); i++) {
+                endpoints.add(entry.getKey());
+            }
+        }
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("request mix is empty");
+        }
+    }
+
+    Request next(Random random) {
+        String endpoint = endpoints.get(random.nextInt(endpoints.size()));
+        StringJoiner query = new StringJoiner("&", "?", "").setEmptyValue("");
+        if (random.nextDouble() < options.getTeamNameRate()) {
+            query.add("teamName=" + encode("Team " + (1 + random.nextInt(BenchmarkApplication.TEAMS))));
+        }
+        if (random.nextDouble() < options.getAgeRate()) {
+            query.add("age=" + (17 + random.nextInt(20)));
+        }
+        if (random.nextDouble() < options.getNameRate()) {
+            query.add("name=" + encode("Player " + (1 + random.nextInt(options.getPlayers()))));
+        }
+        if (endpoint.endsWith("v3")) {
+            query.add("page=" + random.nextInt(options.getMaxPage()));
+            query.add("size=" + options.getPageSize());
+            query.add("sort=" + encode(SORTS.get(random.nextInt(SORTS.size()))));
+        }
+        return Request.of(endpoint, "/" + endpoint.replace('-', '/') + "/players" + query);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    @Data(staticConstructor = "of")
+    static class Request {
+        private final String endpoint;
+        private final String path;
+    }
+}
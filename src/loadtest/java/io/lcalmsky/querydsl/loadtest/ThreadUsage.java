@@ -0,0 +1,86 @@
+package io.lcalmsky.querydsl.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the threads of this JVM every {@link #INTERVAL_MILLIS}: the servlet request threads ({@code http-nio-*-exec-*}),
+ * the threads the reactive search runs its queries on ({@code player-reactive-*}) and the total. Only meaningful when
+ * the application runs in-process.
+ */
+class ThreadUsage {
+    private static final long INTERVAL_MILLIS = 100;
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "thread-usage");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long samples;
+    private int peakTotal;
+    private int peakServlet;
+    private long busyServletSum;
+    private int peakBusyServlet;
+    private int peakReactive;
+
+    void start() {
+        sampler.scheduleAtFixedRate(this::sample, 0, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void reset() {
+        samples = 0;
+        peakTotal = 0;
+        peakServlet = 0;
+        busyServletSum = 0;
+        peakBusyServlet = 0;
+        peakReactive = 0;
+    }
+
+    /**
+     * A servlet thread counts as busy unless it is parked waiting for work; one blocked on a JDBC connection or a lock
+     * is still busy.
+     */
+    private synchronized void sample() {
+        int servlet = 0;
+        int busyServlet = 0;
+        int reactive = 0;
+        for (ThreadInfo threadInfo : threadMXBean.getThreadInfo(threadMXBean.getAllThreadIds(), 1)) {
+            if (threadInfo == null) {
+                continue;
+            }
+            String name = threadInfo.getThreadName();
+            if (name.startsWith("http-nio-") && name.contains("-exec-")) {
+                servlet++;
+                if (!isIdle(threadInfo)) {
+                    busyServlet++;
+                }
+            } else if (name.startsWith("player-reactive-")) {
+                reactive++;
+            }
+        }
+        samples++;
+        peakTotal = Math.max(peakTotal, threadMXBean.getThreadCount());
+        peakServlet = Math.max(peakServlet, servlet);
+        busyServletSum += busyServlet;
+        peakBusyServlet = Math.max(peakBusyServlet, busyServlet);
+        peakReactive = Math.max(peakReactive, reactive);
+    }
+
+    private static boolean isIdle(ThreadInfo threadInfo) {
+        StackTraceElement[] stackTrace = threadInfo.getStackTrace();
+        // Tomcat's idle workers wait on the task queue's condition
+        return stackTrace.length > 0 && stackTrace[0].getMethodName().equals("park")
+                && threadInfo.getLockName() != null && threadInfo.getLockName().contains("AbstractQueuedSynchronizer$ConditionObject");
+    }
+
+    synchronized String stop() {
+        sampler.shutdownNow();
+        return String.format("threads: peak total=%d, servlet peak=%d busy mean=%.1f busy peak=%d, reactive peak=%d",
+                peakTotal, peakServlet, samples == 0 ? 0.0 : (double) busyServletSum / samples, peakBusyServlet, peakReactive);
+    }
+}
@@ -0,0 +1,33 @@
+package io.lcalmsky.querydsl.config;
+
+import io.lcalmsky.querydsl.event.PlayerChangeEventListener;
+import io.lcalmsky.querydsl.metrics.LazyLoadGuard;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+@Configuration
+@RequiredArgsConstructor
+public class HibernateEventConfig {
+    private final EntityManagerFactory entityManagerFactory;
+    private final PlayerChangeEventListener playerChangeEventListener;
+    private final LazyLoadGuard lazyLoadGuard;
+
+    @PostConstruct
+    public void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, playerChangeEventListener);
+        registry.appendListeners(EventType.POST_UPDATE, playerChangeEventListener);
+        registry.appendListeners(EventType.POST_DELETE, playerChangeEventListener);
+        // prepended so the guard sees whether the entity was already in the persistence context
+        registry.prependListeners(EventType.LOAD, lazyLoadGuard);
+        registry.prependListeners(EventType.INIT_COLLECTION, lazyLoadGuard);
+    }
+}
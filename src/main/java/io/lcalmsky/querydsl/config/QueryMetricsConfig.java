@@ -0,0 +1,31 @@
+package io.lcalmsky.querydsl.config;
+
+import io.lcalmsky.querydsl.metrics.QueryMetrics;
+import io.lcalmsky.querydsl.metrics.QueryStatisticsFactory;
+import io.lcalmsky.querydsl.metrics.QueryStatisticsProperties;
+import io.lcalmsky.querydsl.metrics.QueryTemplateStatistics;
+import io.lcalmsky.querydsl.metrics.SqlStatementCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.internal.StatisticsInitiator;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QueryMetricsConfig {
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(QueryMetrics queryMetrics) {
+        // an inspector configured through spring.jpa.properties takes precedence
+        return hibernateProperties -> hibernateProperties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter(queryMetrics));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatisticsCustomizer(QueryStatisticsProperties properties, QueryTemplateStatistics queryTemplateStatistics) {
+        return hibernateProperties -> {
+            hibernateProperties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, properties.isEnabled());
+            hibernateProperties.putIfAbsent(StatisticsInitiator.STATS_BUILDER, new QueryStatisticsFactory(queryTemplateStatistics));
+            // per-session metrics would otherwise be logged at INFO whenever statistics are on
+            hibernateProperties.putIfAbsent(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+}
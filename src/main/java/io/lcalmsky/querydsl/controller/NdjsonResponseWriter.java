@@ -0,0 +1,49 @@
+package io.lcalmsky.querydsl.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Component
+public class NdjsonResponseWriter {
+    private final ObjectWriter objectWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    public NdjsonResponseWriter(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public <T> StreamingResponseBody write(Supplier<Stream<T>> rows) {
+        return outputStream -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<T> stream = rows.get();
+                 SequenceWriter sequenceWriter = objectWriter.writeValues(outputStream)) {
+                Iterator<T> iterator = stream.iterator();
+                if (!iterator.hasNext()) {
+                    return;
+                }
+                while (iterator.hasNext()) {
+                    sequenceWriter.write(iterator.next());
+                }
+                sequenceWriter.flush();
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
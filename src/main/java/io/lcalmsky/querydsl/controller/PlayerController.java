@@ -1,36 +1,89 @@
 package io.lcalmsky.querydsl.controller;
 
+import io.lcalmsky.querydsl.domain.CursorPage;
 import io.lcalmsky.querydsl.domain.PlayerDetails;
 import io.lcalmsky.querydsl.domain.PlayerWithTeamData;
+import io.lcalmsky.querydsl.domain.param.InvalidQueryParamException;
+import io.lcalmsky.querydsl.domain.param.NameMatch;
 import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
 import io.lcalmsky.querydsl.repository.PlayerQuerydslRepository;
-import io.lcalmsky.querydsl.repository.PlayerRepository;
+import io.lcalmsky.querydsl.repository.PlayerSearchBackends;
+import io.lcalmsky.querydsl.repository.name.PlayerNameIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 public class PlayerController {
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    private static final int MAX_SUGGESTIONS = 100;
+
     private final PlayerQuerydslRepository playerQuerydslRepository;
-    private final PlayerRepository playerRepository;
+    private final PlayerSearchBackends playerSearchBackends;
+    private final NdjsonResponseWriter ndjsonResponseWriter;
+    private final PlayerNameIndex playerNameIndex;
+    private final SearchETags searchETags;
 
     @GetMapping("/v1/players")
-    public List<PlayerWithTeamData> searchPlayersV1(PlayerQueryParam param) {
+    public List<PlayerWithTeamData> searchPlayersV1(PlayerQueryParam param, WebRequest webRequest) {
+        if (webRequest.checkNotModified(searchETags.of("v1", param, null, webRequest))) {
+            return null;
+        }
         return playerQuerydslRepository.findPlayerTeamBy(param);
     }
 
+    @GetMapping(value = "/v1/players", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamPlayersV1(PlayerQueryParam param) {
+        return ndjsonResponseWriter.write(() -> playerQuerydslRepository.streamPlayerTeamBy(param));
+    }
+
     @GetMapping("/v2/players")
-    public List<PlayerDetails> searchPlayersV2(PlayerQueryParam param) {
-        return playerRepository.findPlayerTeamBy(param);
+    public List<PlayerDetails> searchPlayersV2(PlayerQueryParam param, WebRequest webRequest) {
+        if (webRequest.checkNotModified(searchETags.of("v2", param, null, webRequest))) {
+            return null;
+        }
+        return playerSearchBackends.forEndpoint("v2").findPlayerTeamBy(param);
+    }
+
+    @GetMapping(value = "/v2/players", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamPlayersV2(PlayerQueryParam param) {
+        return ndjsonResponseWriter.write(() -> playerSearchBackends.forEndpoint("v2").streamPlayerTeamBy(param));
     }
 
     @GetMapping("/v3/players")
-    public Page<PlayerDetails> searchPlayersV3(PlayerQueryParam param, Pageable pageable) {
-        return playerRepository.findPlayerTeamCountPageBy(param, pageable);
+    public Page<PlayerDetails> searchPlayersV3(PlayerQueryParam param, Pageable pageable, WebRequest webRequest) {
+        if (webRequest.checkNotModified(searchETags.of("v3", param, pageable, webRequest))) {
+            return null;
+        }
+        return playerSearchBackends.forEndpoint("v3").findPlayerTeamCountPageBy(param, pageable);
+    }
+
+    @GetMapping("/v4/players")
+    public CursorPage<PlayerDetails> searchPlayersV4(PlayerQueryParam param,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new InvalidQueryParamException("size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        return playerSearchBackends.forEndpoint("v4").findPlayerTeamCursorBy(param, cursor, size);
+    }
+
+    @GetMapping("/v1/players/names")
+    public List<String> suggestPlayerNames(@RequestParam String q,
+                                           @RequestParam(defaultValue = "PREFIX") NameMatch match,
+                                           @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new InvalidQueryParamException("limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return playerNameIndex.findPlayerNames(q, match, limit);
     }
 }
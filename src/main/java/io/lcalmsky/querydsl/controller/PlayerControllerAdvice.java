@@ -0,0 +1,18 @@
+package io.lcalmsky.querydsl.controller;
+
+import io.lcalmsky.querydsl.domain.param.InvalidQueryParamException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+@RestControllerAdvice
+public class PlayerControllerAdvice {
+    @ExceptionHandler(InvalidQueryParamException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidQueryParam(InvalidQueryParamException e) {
+        return Map.of("message", e.getMessage());
+    }
+}
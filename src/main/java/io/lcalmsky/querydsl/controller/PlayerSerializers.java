@@ -0,0 +1,78 @@
+package io.lcalmsky.querydsl.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.PlayerWithTeamData;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Hand-written serializers for the search rows, registered with every Jackson mapper Boot builds (JSON, Smile, CBOR).
+ * They write the same fields in the same order as the reflective bean serializer, without its per-property
+ * accessor calls and with pre-encoded field names.
+ */
+@JsonComponent
+public class PlayerSerializers {
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString AGE = new SerializedString("age");
+    private static final SerializableString IN_SEASON = new SerializedString("inSeason");
+    private static final SerializableString WEEKLY_SALARY = new SerializedString("weeklySalary");
+    private static final SerializableString TEAM_NAME = new SerializedString("teamName");
+
+    public static class PlayerDetailsSerializer extends StdSerializer<PlayerDetails> {
+        public PlayerDetailsSerializer() {
+            super(PlayerDetails.class);
+        }
+
+        @Override
+        public void serialize(PlayerDetails value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value, 5);
+            writeString(gen, NAME, value.getName());
+            writeNumber(gen, AGE, value.getAge());
+            gen.writeFieldName(IN_SEASON);
+            gen.writeBoolean(value.isInSeason());
+            writeNumber(gen, WEEKLY_SALARY, value.getWeeklySalary());
+            writeString(gen, TEAM_NAME, value.getTeamName());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class PlayerWithTeamDataSerializer extends StdSerializer<PlayerWithTeamData> {
+        public PlayerWithTeamDataSerializer() {
+            super(PlayerWithTeamData.class);
+        }
+
+        @Override
+        public void serialize(PlayerWithTeamData value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value, 3);
+            writeString(gen, NAME, value.getName());
+            gen.writeFieldName(AGE);
+            gen.writeNumber(value.getAge());
+            writeString(gen, TEAM_NAME, value.getTeamName());
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString field, String value) throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializableString field, Integer value) throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+}
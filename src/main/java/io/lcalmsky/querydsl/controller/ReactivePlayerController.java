@@ -0,0 +1,39 @@
+package io.lcalmsky.querydsl.controller;
+
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.repository.reactive.ReactivePlayerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The v2 and v3 searches over {@link ReactivePlayerRepository}. Spring MVC handles the request asynchronously, so
+ * the servlet thread is released while the query runs; JSON responses are collected, NDJSON responses are written a
+ * row at a time as the client keeps up.
+ */
+@RestController
+@RequiredArgsConstructor
+public class ReactivePlayerController {
+    private final ReactivePlayerRepository reactivePlayerRepository;
+
+    @GetMapping("/reactive/v2/players")
+    public Flux<PlayerDetails> searchPlayersV2(PlayerQueryParam param) {
+        return reactivePlayerRepository.findPlayerTeamBy(param);
+    }
+
+    @GetMapping(value = "/reactive/v2/players", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PlayerDetails> streamPlayersV2(PlayerQueryParam param) {
+        return reactivePlayerRepository.findPlayerTeamBy(param);
+    }
+
+    @GetMapping("/reactive/v3/players")
+    public Mono<Page<PlayerDetails>> searchPlayersV3(PlayerQueryParam param, Pageable pageable) {
+        return reactivePlayerRepository.findPlayerTeamCountPageBy(param, pageable);
+    }
+}
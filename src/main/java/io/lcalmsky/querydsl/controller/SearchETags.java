@@ -0,0 +1,52 @@
+package io.lcalmsky.querydsl.controller;
+
+import io.lcalmsky.querydsl.datasource.RoutingDataSourceProperties;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryKey;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.event.PlayerDataVersion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ETags for search responses: the data version plus a digest of the endpoint, the normalized filter, the page request
+ * and the {@code Accept} header, so JSON and binary representations of the same result don't share a tag.
+ * Computing one never touches the database, which lets {@link WebRequest#checkNotModified(String)} answer
+ * {@code If-None-Match} polls before any query runs.
+ * <p>
+ * With replica routing enabled no tag is issued: a read-only search may be answered by a replica that has not caught
+ * up with the version yet, and its stale result would then be served as not modified until the next change.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchETags {
+    private final PlayerDataVersion playerDataVersion;
+    private final RoutingDataSourceProperties routingDataSourceProperties;
+
+    /**
+     * Returns {@code null} when replica routing is enabled, which makes {@link WebRequest#checkNotModified(String)}
+     * return {@code false} without adding an {@code ETag} header.
+     */
+    public String of(String endpoint, PlayerQueryParam playerQueryParam, Pageable pageable, WebRequest webRequest) {
+        if (routingDataSourceProperties.isEnabled()) {
+            return null;
+        }
+        // read before the search runs, so a change committed while it runs gives the next poll a new tag
+        long version = playerDataVersion.current();
+        StringBuilder key = new StringBuilder(endpoint)
+                .append('|').append(PlayerQueryKey.from(playerQueryParam))
+                .append('|').append(webRequest.getHeader(HttpHeaders.ACCEPT));
+        if (pageable != null && pageable.isPaged()) {
+            key.append('|').append(pageable.getPageNumber())
+                    .append('|').append(pageable.getPageSize())
+                    .append('|').append(pageable.getSort());
+        }
+        return Long.toHexString(playerDataVersion.getEpoch()) + "-" + version + "-"
+                + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
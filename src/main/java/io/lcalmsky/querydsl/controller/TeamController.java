@@ -0,0 +1,37 @@
+package io.lcalmsky.querydsl.controller;
+
+import io.lcalmsky.querydsl.domain.TeamStats;
+import io.lcalmsky.querydsl.domain.param.InvalidQueryParamException;
+import io.lcalmsky.querydsl.domain.param.NameMatch;
+import io.lcalmsky.querydsl.repository.name.PlayerNameIndex;
+import io.lcalmsky.querydsl.repository.stats.TeamStatistics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamController {
+    private static final int MAX_SUGGESTIONS = 100;
+
+    private final PlayerNameIndex playerNameIndex;
+    private final TeamStatistics teamStatistics;
+
+    @GetMapping("/v1/teams/stats")
+    public List<TeamStats> getTeamStats() {
+        return teamStatistics.findAll();
+    }
+
+    @GetMapping("/v1/teams/names")
+    public List<String> suggestTeamNames(@RequestParam String q,
+                                         @RequestParam(defaultValue = "PREFIX") NameMatch match,
+                                         @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new InvalidQueryParamException("limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return playerNameIndex.findTeamNames(q, match, limit);
+    }
+}
@@ -0,0 +1,135 @@
+package io.lcalmsky.querydsl.datasource;
+
+import lombok.Getter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replicas in round-robin order and everything else to the primary.
+ * Replicas that are unreachable or lag behind by more than {@code maxLag} are skipped until a later probe
+ * succeeds; with no replica available reads fall back to the primary. Needs to sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the connection is fetched after
+ * the transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    public static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    @Getter
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final Duration probeInterval;
+    private final AtomicInteger next = new AtomicInteger();
+    private ScheduledExecutorService prober;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Duration maxLag, Duration probeInterval) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLag = maxLag;
+        this.probeInterval = probeInterval;
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY, primary);
+        replicas.forEach(replica -> targetDataSources.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicas.isEmpty()) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isAvailable()) {
+                return replica.getName();
+            }
+        }
+        return PRIMARY;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        if (replicas.isEmpty()) {
+            return;
+        }
+        prober = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replica-probe-"));
+        prober.scheduleWithFixedDelay(this::probe, 0, probeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void probe() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.getDataSource().getConnection()) {
+                Duration lag = lag(connection, replica.getLagQuery());
+                replica.lag = lag;
+                replica.available = lag.compareTo(maxLag) <= 0;
+            } catch (SQLException | RuntimeException e) {
+                replica.available = false;
+            }
+        }
+    }
+
+    private Duration lag(Connection connection, String lagQuery) throws SQLException {
+        if (lagQuery == null) {
+            return connection.isValid(1) ? Duration.ZERO : maxLag.plusSeconds(1);
+        }
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            // a replica that has not replayed anything yet reports null
+            return resultSet.next() && resultSet.getObject(1) != null
+                    ? Duration.ofMillis((long) (resultSet.getDouble(1) * 1000))
+                    : Duration.ZERO;
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            close(replica.getDataSource());
+        }
+        close(primary);
+    }
+
+    private void close(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable) {
+            ((Closeable) dataSource).close();
+        }
+    }
+
+    @Getter
+    public static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final String lagQuery;
+        private volatile boolean available = true;
+        private volatile Duration lag = Duration.ZERO;
+
+        public Replica(String name, DataSource dataSource, String lagQuery) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.lagQuery = lagQuery;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.lcalmsky.querydsl.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Configuration
+@ConditionalOnProperty(prefix = "player.datasource.routing", name = "enabled", havingValue = "true")
+public class RoutingDataSourceConfig {
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties, RoutingDataSourceProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        List<ReplicaRoutingDataSource.Replica> replicas = properties.getReplicas().stream()
+                .map(replica -> new ReplicaRoutingDataSource.Replica(replica.getName(), replicaDataSource(replica), replica.getLagQuery()))
+                .collect(Collectors.toList());
+        replicas.forEach(replica -> {
+            Gauge.builder("player.datasource.replica.lag", replica, r -> r.getLag().toMillis())
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            Gauge.builder("player.datasource.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        });
+        return new ReplicaRoutingDataSource(primary, replicas, properties.getMaxLag(), properties.getProbeInterval());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private DataSource replicaDataSource(RoutingDataSourceProperties.Replica replica) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .build();
+        dataSource.setPoolName(replica.getName());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
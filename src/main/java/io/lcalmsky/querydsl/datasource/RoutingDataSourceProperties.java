@@ -0,0 +1,30 @@
+package io.lcalmsky.querydsl.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "player.datasource.routing")
+public class RoutingDataSourceProperties {
+    private boolean enabled = false;
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration probeInterval = Duration.ofSeconds(1);
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        /**
+         * Query returning the replication delay in seconds, e.g.
+         * {@code select extract(epoch from now() - pg_last_xact_replay_timestamp())}. Without one only reachability is checked.
+         */
+        private String lagQuery;
+    }
+}
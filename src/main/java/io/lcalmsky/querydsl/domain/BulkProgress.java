@@ -0,0 +1,14 @@
+package io.lcalmsky.querydsl.domain;
+
+import lombok.Data;
+
+@Data(staticConstructor = "of")
+public class BulkProgress {
+    private final int completedChunks;
+    private final int totalChunks;
+    private final long affectedRows;
+
+    public boolean isDone() {
+        return completedChunks == totalChunks;
+    }
+}
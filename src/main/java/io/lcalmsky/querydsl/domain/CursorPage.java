@@ -0,0 +1,15 @@
+package io.lcalmsky.querydsl.domain;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data(staticConstructor = "of")
+public class CursorPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
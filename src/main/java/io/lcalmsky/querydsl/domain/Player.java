@@ -6,16 +6,24 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 import javax.persistence.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.Optional;
 
-@Table(name = "Player")
+@Table(name = "Player", indexes = {
+        @Index(name = "idx_player_name", columnList = "name, player_id"),
+        @Index(name = "idx_player_age", columnList = "age, player_id"),
+        @Index(name = "idx_player_weekly_salary", columnList = "weekly_salary, player_id"),
+        @Index(name = "idx_player_team_age", columnList = "team_id, age")
+})
 @Entity
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 @ToString
 public class Player {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "player_seq")
+    @SequenceGenerator(name = "player_seq", sequenceName = "player_seq", allocationSize = 100)
     @Column(name = "player_id")
     private Long id;
     private String name;
@@ -51,6 +59,10 @@ public class Player {
         team.getPlayers().add(this);
     }
 
+    public void rename(String name) {
+        this.name = name;
+    }
+
     public void begins() {
         this.inSeason = true;
     }
@@ -63,7 +75,22 @@ public class Player {
         this.weeklySalary = weeklySalary;
     }
 
+    /**
+     * Raises the salary by the rate, rounded down. Computed in exact decimals, as the bulk update computes it in SQL,
+     * so both give the same salary. Players without a salary keep none.
+     */
     public void raiseSalary(float rate) {
-        this.weeklySalary = (int) (weeklySalary + weeklySalary * rate);
+        if (weeklySalary == null) {
+            return;
+        }
+        BigDecimal salary = BigDecimal.valueOf(weeklySalary);
+        this.weeklySalary = salary.add(salary.multiply(raiseRate(rate))).setScale(0, RoundingMode.FLOOR).intValueExact();
+    }
+
+    /**
+     * The rate as the decimal it was written as, rather than the binary fraction a {@code float} holds.
+     */
+    public static BigDecimal raiseRate(float rate) {
+        return new BigDecimal(Float.toString(rate));
     }
 }
@@ -1,12 +1,27 @@
 package io.lcalmsky.querydsl.domain;
 
+import com.querydsl.core.annotations.QueryProjection;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 public class PlayerDetails {
     private String name;
     private Integer age;
     private boolean inSeason;
     private Integer weeklySalary;
     private String teamName;
+
+    /**
+     * {@code in_season} is nullable; a missing value reads as not in season on every search backend.
+     */
+    @QueryProjection
+    public PlayerDetails(String name, Integer age, Boolean inSeason, Integer weeklySalary, String teamName) {
+        this.name = name;
+        this.age = age;
+        this.inSeason = Boolean.TRUE.equals(inSeason);
+        this.weeklySalary = weeklySalary;
+        this.teamName = teamName;
+    }
 }
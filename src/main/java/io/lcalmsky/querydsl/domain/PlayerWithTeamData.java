@@ -1,14 +1,20 @@
 package io.lcalmsky.querydsl.domain;
 
-import lombok.AllArgsConstructor;
+import com.querydsl.core.annotations.QueryProjection;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class PlayerWithTeamData {
     private String name;
     private int age;
     private String teamName;
+
+    @QueryProjection
+    public PlayerWithTeamData(String name, int age, String teamName) {
+        this.name = name;
+        this.age = age;
+        this.teamName = teamName;
+    }
 }
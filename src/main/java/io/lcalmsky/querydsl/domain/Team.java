@@ -4,12 +4,15 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@BatchSize(size = 100)
+@Table(indexes = @Index(name = "idx_team_name", columnList = "name"))
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 @ToString
@@ -20,6 +23,7 @@ public class Team {
     private Long id;
     private String name;
     @OneToMany(mappedBy = "team")
+    @BatchSize(size = 100)
     @ToString.Exclude
     private List<Player> players = new ArrayList<>();
 
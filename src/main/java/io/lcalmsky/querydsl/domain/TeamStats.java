@@ -0,0 +1,17 @@
+package io.lcalmsky.querydsl.domain;
+
+import lombok.Data;
+
+@Data(staticConstructor = "of")
+public class TeamStats {
+    private final String teamName;
+    private final long players;
+    private final long ageSum;
+    private final Double ageAvg;
+    private final Integer ageMax;
+    private final Integer ageMin;
+    private final long weeklySalarySum;
+    private final Double weeklySalaryAvg;
+    private final Integer weeklySalaryMax;
+    private final Integer weeklySalaryMin;
+}
@@ -0,0 +1,11 @@
+package io.lcalmsky.querydsl.domain.param;
+
+public class InvalidQueryParamException extends IllegalArgumentException {
+    public InvalidQueryParamException(String message) {
+        super(message);
+    }
+
+    public InvalidQueryParamException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,56 @@
+package io.lcalmsky.querydsl.domain.param;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.StringExpression;
+
+import java.util.Locale;
+
+/**
+ * How a name filter matches. Prefix and contains matching ignore case.
+ */
+public enum NameMatch {
+    EXACT {
+        @Override
+        public BooleanExpression condition(StringExpression path, String value) {
+            return path.eq(value);
+        }
+
+        @Override
+        public boolean test(String candidate, String value) {
+            return value.equals(candidate);
+        }
+    },
+    PREFIX {
+        @Override
+        public BooleanExpression condition(StringExpression path, String value) {
+            return path.startsWithIgnoreCase(value);
+        }
+
+        @Override
+        public boolean test(String candidate, String value) {
+            return candidate != null && normalize(candidate).startsWith(normalize(value));
+        }
+    },
+    CONTAINS {
+        @Override
+        public BooleanExpression condition(StringExpression path, String value) {
+            return path.containsIgnoreCase(value);
+        }
+
+        @Override
+        public boolean test(String candidate, String value) {
+            return candidate != null && normalize(candidate).contains(normalize(value));
+        }
+    };
+
+    /**
+     * Plain SQL form of the match, for when no index can narrow the names down.
+     */
+    public abstract BooleanExpression condition(StringExpression path, String value);
+
+    public abstract boolean test(String candidate, String value);
+
+    public static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
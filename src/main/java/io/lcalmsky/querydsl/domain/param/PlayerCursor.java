@@ -0,0 +1,40 @@
+package io.lcalmsky.querydsl.domain.param;
+
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position after the last row of a page in {@code (weekly_salary nulls first, id)} order. Rows without a salary
+ * come first and are encoded with an empty salary.
+ */
+@Data(staticConstructor = "of")
+public class PlayerCursor {
+    private static final String DELIMITER = ":";
+
+    private final Integer weeklySalary;
+    private final long id;
+
+    public static PlayerCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String[] values = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(DELIMITER, -1);
+            if (values.length != 2) {
+                throw new InvalidQueryParamException("malformed cursor: " + token);
+            }
+            return of(values[0].isEmpty() ? null : Integer.valueOf(values[0]), Long.parseLong(values[1]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryParamException("malformed cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((Objects.toString(weeklySalary, "") + DELIMITER + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
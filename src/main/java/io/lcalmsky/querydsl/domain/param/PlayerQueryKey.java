@@ -0,0 +1,21 @@
+package io.lcalmsky.querydsl.domain.param;
+
+import lombok.Data;
+
+@Data(staticConstructor = "of")
+public class PlayerQueryKey {
+    private final String name;
+    private final Integer age;
+    private final String teamName;
+    private final NameMatch nameMatch;
+    private final NameMatch teamNameMatch;
+
+    public static PlayerQueryKey from(PlayerQueryParam playerQueryParam) {
+        return of(playerQueryParam.getName(), playerQueryParam.getAge(), playerQueryParam.getTeamName(),
+                playerQueryParam.getNameMatch(), playerQueryParam.getTeamNameMatch());
+    }
+
+    public boolean isTeamOnly() {
+        return name == null && age == null && (teamName == null || teamNameMatch == NameMatch.EXACT);
+    }
+}
@@ -7,4 +7,18 @@ public class PlayerQueryParam {
     private String name;
     private Integer age;
     private String teamName;
+    private NameMatch nameMatch = NameMatch.EXACT;
+    private NameMatch teamNameMatch = NameMatch.EXACT;
+
+    public NameMatch getNameMatch() {
+        return nameMatch == null ? NameMatch.EXACT : nameMatch;
+    }
+
+    public NameMatch getTeamNameMatch() {
+        return teamNameMatch == null ? NameMatch.EXACT : teamNameMatch;
+    }
+
+    public boolean isExactMatch() {
+        return getNameMatch() == NameMatch.EXACT && getTeamNameMatch() == NameMatch.EXACT;
+    }
 }
@@ -0,0 +1,29 @@
+package io.lcalmsky.querydsl.event;
+
+import lombok.Data;
+
+/**
+ * One player row written by Hibernate or a Querydsl bulk statement.
+ */
+@Data(staticConstructor = "of")
+public class PlayerChange {
+    private final ChangeType type;
+    private final PlayerSnapshot before;
+    private final PlayerSnapshot after;
+
+    public static PlayerChange inserted(PlayerSnapshot after) {
+        return of(ChangeType.INSERT, null, after);
+    }
+
+    public static PlayerChange updated(PlayerSnapshot before, PlayerSnapshot after) {
+        return of(ChangeType.UPDATE, before, after);
+    }
+
+    public static PlayerChange deleted(PlayerSnapshot before) {
+        return of(ChangeType.DELETE, before, null);
+    }
+
+    public enum ChangeType {
+        INSERT, UPDATE, DELETE
+    }
+}
@@ -0,0 +1,58 @@
+package io.lcalmsky.querydsl.event;
+
+import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.Team;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands every {@link Player} and {@link Team} row Hibernate writes to {@link PlayerChangePublisher}, which publishes
+ * them per transaction after commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class PlayerChangeEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    private final PlayerChangePublisher playerChangePublisher;
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Player) {
+            playerChangePublisher.publish(PlayerChange.inserted(PlayerSnapshot.from((Player) event.getEntity())));
+        } else if (event.getEntity() instanceof Team) {
+            playerChangePublisher.publishTeamChange((Long) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Player) {
+            PlayerSnapshot before = event.getOldState() == null ? null
+                    : PlayerSnapshot.from((Long) event.getId(), event.getOldState(), event.getPersister().getEntityMetamodel());
+            playerChangePublisher.publish(PlayerChange.updated(before, PlayerSnapshot.from((Player) event.getEntity())));
+        } else if (event.getEntity() instanceof Team) {
+            playerChangePublisher.publishTeamChange((Long) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Player) {
+            playerChangePublisher.publish(PlayerChange.deleted(
+                    PlayerSnapshot.from((Long) event.getId(), event.getDeletedState(), event.getPersister().getEntityMetamodel())));
+        } else if (event.getEntity() instanceof Team) {
+            playerChangePublisher.publishTeamChange((Long) event.getId());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+}
@@ -0,0 +1,168 @@
+package io.lcalmsky.querydsl.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects the player and team changes of a transaction in one buffer bound to it and publishes them as a single
+ * {@link PlayerChangedEvent} and {@link TeamChangedEvent} after commit. Past {@code player.events.max-changes} rows
+ * the buffer is folded into {@link TeamDeltas} and a bulk event goes out instead, so a large load holds a bounded
+ * number of snapshots; once the deltas hold more than {@code max-changes} counts too they are dropped as well.
+ * Without a transaction, changes are published immediately.
+ * <p>
+ * Events are published from {@code afterCompletion}, where synchronization is no longer active, so
+ * {@code @TransactionalEventListener(fallbackExecution = true)} listeners run right away, in order, on the committing
+ * thread. {@link PlayerDataVersion} is bumped only after they have all returned.
+ */
+@Component
+public class PlayerChangePublisher {
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlayerDataVersion playerDataVersion;
+    private final PlayerEventProperties properties;
+
+    public PlayerChangePublisher(ApplicationEventPublisher eventPublisher, PlayerDataVersion playerDataVersion,
+                                 PlayerEventProperties properties) {
+        this.eventPublisher = eventPublisher;
+        this.playerDataVersion = playerDataVersion;
+        this.properties = properties;
+    }
+
+    public void publish(PlayerChange change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventPublisher.publishEvent(PlayerChangedEvent.of(List.of(change)));
+            playerDataVersion.increment();
+            return;
+        }
+        changes().add(change);
+    }
+
+    public void publishBulk() {
+        publishBulk(null);
+    }
+
+    /**
+     * Publishes a bulk change, with the per-team counts of the rows it changed or {@code null} when they are unknown.
+     */
+    public void publishBulk(TeamDeltas teamDeltas) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventPublisher.publishEvent(PlayerChangedEvent.bulk(teamDeltas));
+            playerDataVersion.increment();
+            return;
+        }
+        changes().markBulk(teamDeltas);
+    }
+
+    public void publishTeamChange(Long teamId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventPublisher.publishEvent(TeamChangedEvent.of(Set.of(teamId)));
+            playerDataVersion.increment();
+            return;
+        }
+        changes().teamIds.add(teamId);
+    }
+
+    private Changes changes() {
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            changes = new Changes();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(changes);
+        }
+        return changes;
+    }
+
+    private class Changes implements TransactionSynchronization {
+        private final List<PlayerChange> playerChanges = new ArrayList<>();
+        private final Set<Long> teamIds = new HashSet<>();
+        private boolean bulk;
+        private TeamDeltas teamDeltas;
+
+        void add(PlayerChange change) {
+            if (bulk) {
+                addDelta(change);
+                return;
+            }
+            if (playerChanges.size() >= properties.getMaxChanges()) {
+                markBulk(new TeamDeltas());
+                addDelta(change);
+                return;
+            }
+            playerChanges.add(change);
+        }
+
+        void markBulk(TeamDeltas deltas) {
+            if (!bulk) {
+                bulk = true;
+                teamDeltas = new TeamDeltas();
+                playerChanges.forEach(this::addDelta);
+                playerChanges.clear();
+            }
+            if (deltas == null) {
+                teamDeltas = null;
+            } else if (teamDeltas != null) {
+                teamDeltas.addAll(deltas);
+                dropLargeDeltas();
+            }
+        }
+
+        private void addDelta(PlayerChange change) {
+            if (teamDeltas == null) {
+                return;
+            }
+            if (change.getType() == PlayerChange.ChangeType.UPDATE && change.getBefore() == null) {
+                // Hibernate had no old state, so what the row held before is unknown
+                teamDeltas = null;
+                return;
+            }
+            if (change.getBefore() != null) {
+                teamDeltas.add(change.getBefore(), -1);
+            }
+            if (change.getAfter() != null) {
+                teamDeltas.add(change.getAfter(), 1);
+            }
+            dropLargeDeltas();
+        }
+
+        private void dropLargeDeltas() {
+            if (teamDeltas != null && teamDeltas.size() > properties.getMaxChanges()) {
+                teamDeltas = null;
+            }
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(PlayerChangePublisher.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(PlayerChangePublisher.this, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PlayerChangePublisher.this);
+            if (status != STATUS_COMMITTED) {
+                return;
+            }
+            if (!teamIds.isEmpty()) {
+                eventPublisher.publishEvent(TeamChangedEvent.of(Set.copyOf(teamIds)));
+            }
+            if (bulk) {
+                eventPublisher.publishEvent(PlayerChangedEvent.bulk(teamDeltas));
+            } else if (!playerChanges.isEmpty()) {
+                eventPublisher.publishEvent(PlayerChangedEvent.of(playerChanges));
+            }
+            if (bulk || !playerChanges.isEmpty() || !teamIds.isEmpty()) {
+                playerDataVersion.increment();
+            }
+        }
+    }
+}
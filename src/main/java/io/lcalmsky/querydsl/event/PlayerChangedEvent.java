@@ -0,0 +1,53 @@
+package io.lcalmsky.querydsl.event;
+
+import lombok.Data;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The player rows one transaction changed, published once after it commits. A bulk event carries no rows and
+ * means anything may have changed; when the writer could still count what it changed per team, the counts come as
+ * {@link #getTeamDeltas()}, otherwise that is {@code null}.
+ */
+@Data(staticConstructor = "of")
+public class PlayerChangedEvent {
+    private final boolean bulk;
+    private final List<PlayerChange> changes;
+    private final TeamDeltas teamDeltas;
+
+    public static PlayerChangedEvent of(List<PlayerChange> changes) {
+        return of(false, List.copyOf(changes), null);
+    }
+
+    public static PlayerChangedEvent bulk() {
+        return bulk(null);
+    }
+
+    public static PlayerChangedEvent bulk(TeamDeltas teamDeltas) {
+        return of(true, List.of(), teamDeltas);
+    }
+
+    /**
+     * Teams the changed rows belonged to before or after the change.
+     */
+    public Set<Long> teamIds() {
+        Set<Long> teamIds = new HashSet<>();
+        for (PlayerChange change : changes) {
+            if (change.getBefore() != null && change.getBefore().getTeamId() != null) {
+                teamIds.add(change.getBefore().getTeamId());
+            }
+            if (change.getAfter() != null && change.getAfter().getTeamId() != null) {
+                teamIds.add(change.getAfter().getTeamId());
+            }
+        }
+        if (teamDeltas != null) {
+            teamDeltas.getTeams().keySet().stream()
+                    .filter(Objects::nonNull)
+                    .forEach(teamIds::add);
+        }
+        return teamIds;
+    }
+}
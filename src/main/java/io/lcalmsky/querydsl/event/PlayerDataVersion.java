@@ -0,0 +1,30 @@
+package io.lcalmsky.querydsl.event;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter bumped by {@link PlayerChangePublisher} after every committed player or team change, once the listeners of
+ * the change, including the search cache invalidation, have run. A reader that sees version {@code n} can therefore
+ * neither get data older than {@code n} from the primary nor a cached result from before it. The epoch changes on
+ * every start so versions from a previous run are never mistaken for current ones. Local to this instance.
+ */
+@Component
+public class PlayerDataVersion {
+    private final long epoch = ThreadLocalRandom.current().nextLong();
+    private final AtomicLong version = new AtomicLong();
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    void increment() {
+        version.incrementAndGet();
+    }
+}
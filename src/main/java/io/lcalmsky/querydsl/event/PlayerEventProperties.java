@@ -0,0 +1,17 @@
+package io.lcalmsky.querydsl.event;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "player.events")
+public class PlayerEventProperties {
+    /**
+     * Row changes one transaction collects before they are dropped and a bulk event is published instead.
+     */
+    private int maxChanges = 1000;
+    /**
+     * Rows a bulk update or delete may touch and still publish per-row changes, read under a row lock.
+     */
+    private int maxSnapshotRows = 100;
+}
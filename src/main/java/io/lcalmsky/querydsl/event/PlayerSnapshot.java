@@ -0,0 +1,40 @@
+package io.lcalmsky.querydsl.event;
+
+import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.Team;
+import lombok.Data;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.tuple.entity.EntityMetamodel;
+
+@Data(staticConstructor = "of")
+public class PlayerSnapshot {
+    private final Long id;
+    private final String name;
+    private final int age;
+    private final Long teamId;
+    private final Boolean inSeason;
+    private final Integer weeklySalary;
+
+    public static PlayerSnapshot from(Player player) {
+        return of(player.getId(), player.getName(), player.getAge(), teamId(player.getTeam()), player.getInSeason(), player.getWeeklySalary());
+    }
+
+    static PlayerSnapshot from(Long id, Object[] state, EntityMetamodel metamodel) {
+        return of(id,
+                (String) state[metamodel.getPropertyIndex("name")],
+                (Integer) state[metamodel.getPropertyIndex("age")],
+                teamId(state[metamodel.getPropertyIndex("team")]),
+                (Boolean) state[metamodel.getPropertyIndex("inSeason")],
+                (Integer) state[metamodel.getPropertyIndex("weeklySalary")]);
+    }
+
+    private static Long teamId(Object team) {
+        if (team == null) {
+            return null;
+        }
+        if (team instanceof HibernateProxy) {
+            return (Long) ((HibernateProxy) team).getHibernateLazyInitializer().getIdentifier();
+        }
+        return ((Team) team).getId();
+    }
+}
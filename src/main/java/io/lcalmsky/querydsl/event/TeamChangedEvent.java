@@ -0,0 +1,10 @@
+package io.lcalmsky.querydsl.event;
+
+import lombok.Data;
+
+import java.util.Set;
+
+@Data(staticConstructor = "of")
+public class TeamChangedEvent {
+    private final Set<Long> teamIds;
+}
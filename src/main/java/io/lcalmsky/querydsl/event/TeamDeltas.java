@@ -0,0 +1,66 @@
+package io.lcalmsky.querydsl.event;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * How many players of each age and weekly salary a bulk change added to (positive) or removed from (negative) each
+ * team, keyed by team id with players without a team under {@code null}. Null salaries are left out the way SQL
+ * aggregates leave them out. Not thread-safe.
+ */
+public class TeamDeltas {
+    private final Map<Long, Delta> teams = new HashMap<>();
+    private int size;
+
+    public void add(Long teamId, int age, Integer weeklySalary, long count) {
+        Delta delta = teams.computeIfAbsent(teamId, id -> new Delta());
+        size += merge(delta.ages, age, count);
+        if (weeklySalary != null) {
+            size += merge(delta.weeklySalaries, weeklySalary, count);
+        }
+    }
+
+    public void add(PlayerSnapshot snapshot, long count) {
+        add(snapshot.getTeamId(), snapshot.getAge(), snapshot.getWeeklySalary(), count);
+    }
+
+    public void addAll(TeamDeltas other) {
+        other.teams.forEach((teamId, delta) -> {
+            Delta target = teams.computeIfAbsent(teamId, id -> new Delta());
+            delta.ages.forEach((age, count) -> size += merge(target.ages, age, count));
+            delta.weeklySalaries.forEach((weeklySalary, count) -> size += merge(target.weeklySalaries, weeklySalary, count));
+        });
+    }
+
+    public Map<Long, Delta> getTeams() {
+        return Collections.unmodifiableMap(teams);
+    }
+
+    /**
+     * Number of non-zero age and salary counts held.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the change in the number of non-zero counts.
+     */
+    private static int merge(Map<Integer, Long> counts, int value, long count) {
+        if (count == 0) {
+            return 0;
+        }
+        Long before = counts.get(value);
+        Long after = counts.merge(value, count, (current, delta) -> current + delta == 0 ? null : current + delta);
+        return (after == null ? 0 : 1) - (before == null ? 0 : 1);
+    }
+
+    @Getter
+    public static class Delta {
+        private final Map<Integer, Long> ages = new HashMap<>();
+        private final Map<Integer, Long> weeklySalaries = new HashMap<>();
+    }
+}
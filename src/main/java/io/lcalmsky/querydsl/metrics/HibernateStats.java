@@ -0,0 +1,76 @@
+package io.lcalmsky.querydsl.metrics;
+
+import lombok.Data;
+import org.hibernate.stat.Statistics;
+
+/**
+ * The counters of Hibernate {@link Statistics} worth watching in production, as a value that can be subtracted.
+ */
+@Data(staticConstructor = "of")
+public class HibernateStats {
+    public static final HibernateStats ZERO = of(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+    private final long queryExecutionCount;
+    private final long queryPlanCacheHitCount;
+    private final long queryPlanCacheMissCount;
+    private final long prepareStatementCount;
+    private final long entityLoadCount;
+    private final long entityFetchCount;
+    private final long collectionLoadCount;
+    private final long collectionFetchCount;
+    private final long secondLevelCacheHitCount;
+    private final long secondLevelCacheMissCount;
+    private final long secondLevelCachePutCount;
+    private final long queryCacheHitCount;
+    private final long queryCacheMissCount;
+    private final long sessionOpenCount;
+    private final long flushCount;
+
+    public static HibernateStats from(Statistics statistics) {
+        return of(statistics.getQueryExecutionCount(),
+                statistics.getQueryPlanCacheHitCount(),
+                statistics.getQueryPlanCacheMissCount(),
+                statistics.getPrepareStatementCount(),
+                statistics.getEntityLoadCount(),
+                statistics.getEntityFetchCount(),
+                statistics.getCollectionLoadCount(),
+                statistics.getCollectionFetchCount(),
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getSessionOpenCount(),
+                statistics.getFlushCount());
+    }
+
+    public double getQueryPlanCacheHitRatio() {
+        return ratio(queryPlanCacheHitCount, queryPlanCacheMissCount);
+    }
+
+    public double getSecondLevelCacheHitRatio() {
+        return ratio(secondLevelCacheHitCount, secondLevelCacheMissCount);
+    }
+
+    HibernateStats minus(HibernateStats earlier) {
+        return of(queryExecutionCount - earlier.queryExecutionCount,
+                queryPlanCacheHitCount - earlier.queryPlanCacheHitCount,
+                queryPlanCacheMissCount - earlier.queryPlanCacheMissCount,
+                prepareStatementCount - earlier.prepareStatementCount,
+                entityLoadCount - earlier.entityLoadCount,
+                entityFetchCount - earlier.entityFetchCount,
+                collectionLoadCount - earlier.collectionLoadCount,
+                collectionFetchCount - earlier.collectionFetchCount,
+                secondLevelCacheHitCount - earlier.secondLevelCacheHitCount,
+                secondLevelCacheMissCount - earlier.secondLevelCacheMissCount,
+                secondLevelCachePutCount - earlier.secondLevelCachePutCount,
+                queryCacheHitCount - earlier.queryCacheHitCount,
+                queryCacheMissCount - earlier.queryCacheMissCount,
+                sessionOpenCount - earlier.sessionOpenCount,
+                flushCount - earlier.flushCount);
+    }
+
+    private static double ratio(long hits, long misses) {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+}
@@ -0,0 +1,91 @@
+package io.lcalmsky.querydsl.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.event.spi.LoadEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Counts lazy proxy and collection initializations that have to go to the database, per transaction (or per
+ * request outside of one), and warns or fails once the configured threshold is exceeded. Proxies that a batch
+ * fetch already brought into the persistence context are not counted.
+ */
+@Slf4j
+@Component
+public class LazyLoadGuard implements LoadEventListener, InitializeCollectionEventListener {
+    private final ThreadLocal<Loads> loads = ThreadLocal.withInitial(Loads::new);
+    private final LazyLoadGuardProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public LazyLoadGuard(LazyLoadGuardProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onLoad(LoadEvent event, LoadType loadType) {
+        if (loadType != IMMEDIATE_LOAD || isLoaded(event)) {
+            return;
+        }
+        lazyLoaded(event.getEntityClassName());
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        lazyLoaded(event.getCollection().getRole());
+    }
+
+    public int getCount() {
+        return loads.get().count;
+    }
+
+    public void reset() {
+        loads.remove();
+    }
+
+    private boolean isLoaded(LoadEvent event) {
+        EventSource session = event.getSession();
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(event.getEntityClassName());
+        EntityKey entityKey = session.generateEntityKey(event.getEntityId(), persister);
+        return session.getPersistenceContext().getEntity(entityKey) != null;
+    }
+
+    private void lazyLoaded(String role) {
+        meterRegistry.counter("player.lazy.loads", "role", role).increment();
+        Loads current = loads.get();
+        if (!current.registered && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    reset();
+                }
+            });
+            current.registered = true;
+        }
+        if (++current.count <= properties.getThreshold()) {
+            return;
+        }
+        String message = String.format("%d lazy loads exceed the threshold of %d, last one was %s", current.count, properties.getThreshold(), role);
+        if (properties.isFailOnThreshold()) {
+            throw new LazyLoadLimitExceededException(message);
+        }
+        if (!current.warned) {
+            log.warn(message);
+            current.warned = true;
+        }
+    }
+
+    private static class Loads {
+        private int count;
+        private boolean registered;
+        private boolean warned;
+    }
+}
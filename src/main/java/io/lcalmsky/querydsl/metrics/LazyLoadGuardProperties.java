@@ -0,0 +1,11 @@
+package io.lcalmsky.querydsl.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "player.lazy-load")
+public class LazyLoadGuardProperties {
+    private int threshold = 10;
+    private boolean failOnThreshold = false;
+}
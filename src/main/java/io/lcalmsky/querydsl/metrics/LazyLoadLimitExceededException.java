@@ -0,0 +1,7 @@
+package io.lcalmsky.querydsl.metrics;
+
+public class LazyLoadLimitExceededException extends IllegalStateException {
+    public LazyLoadLimitExceededException(String message) {
+        super(message);
+    }
+}
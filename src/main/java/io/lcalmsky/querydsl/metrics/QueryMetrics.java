@@ -0,0 +1,72 @@
+package io.lcalmsky.querydsl.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+/**
+ * SQL statements and repository rows attributed to the current thread, so a request can report how much
+ * database work it caused. Work done on other threads (parallel page queries, async streaming) is only
+ * counted in the global totals.
+ */
+@Component
+public class QueryMetrics {
+    private final ThreadLocal<Scope> scope = new ThreadLocal<>();
+    private final MeterRegistry meterRegistry;
+    private final Counter statements;
+    private final Counter rows;
+
+    public QueryMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.statements = Counter.builder("player.sql.statements")
+                .description("SQL statements prepared by Hibernate")
+                .register(meterRegistry);
+        this.rows = Counter.builder("player.repository.rows.total")
+                .description("Rows returned by player repository methods")
+                .register(meterRegistry);
+    }
+
+    public Scope open() {
+        Scope current = Scope.of();
+        scope.set(current);
+        return current;
+    }
+
+    public void close(Scope current, String uri) {
+        scope.remove();
+        DistributionSummary.builder("player.request.statements")
+                .description("SQL statements issued per request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(current.getStatements());
+        DistributionSummary.builder("player.request.rows")
+                .description("Repository rows fetched per request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(current.getRows());
+    }
+
+    public void statementPrepared() {
+        statements.increment();
+        Scope current = scope.get();
+        if (current != null) {
+            current.statements++;
+        }
+    }
+
+    public void rowsFetched(long count) {
+        rows.increment(count);
+        Scope current = scope.get();
+        if (current != null) {
+            current.rows += count;
+        }
+    }
+
+    @Data(staticConstructor = "of")
+    public static class Scope {
+        private long statements;
+        private long rows;
+    }
+}
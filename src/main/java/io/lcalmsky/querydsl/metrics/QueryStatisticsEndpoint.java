@@ -0,0 +1,119 @@
+package io.lcalmsky.querydsl.metrics;
+
+import lombok.Data;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * {@code /actuator/querystats}: Hibernate statistics and the per-template query aggregates.
+ * <ul>
+ * <li>{@code GET} totals since the last reset, {@code GET /{snapshot}} what happened since that snapshot was taken,
+ * both with an optional {@code top}</li>
+ * <li>{@code POST} with {@code {"enabled": true}} switches collection on or off, {@code POST /{snapshot}} takes a
+ * named snapshot</li>
+ * <li>{@code DELETE} resets the totals and drops the snapshots</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "querystats")
+public class QueryStatisticsEndpoint {
+    private final QueryStatisticsProperties properties;
+    private final QueryTemplateStatistics queryTemplateStatistics;
+    private final Statistics statistics;
+    private final Map<String, Snapshot> snapshots;
+    private volatile Instant resetAt = Instant.now();
+
+    public QueryStatisticsEndpoint(QueryStatisticsProperties properties, QueryTemplateStatistics queryTemplateStatistics,
+                                   EntityManagerFactory entityManagerFactory) {
+        this.properties = properties;
+        this.queryTemplateStatistics = queryTemplateStatistics;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.snapshots = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+                return size() > properties.getMaxSnapshots();
+            }
+        };
+    }
+
+    @ReadOperation
+    public QueryStatisticsReport report(@Nullable Integer top) {
+        return report(take(), HibernateStats.ZERO, Map.of(), resetAt, top);
+    }
+
+    @ReadOperation
+    public QueryStatisticsReport diff(@Selector String snapshot, @Nullable Integer top) {
+        Snapshot earlier;
+        synchronized (snapshots) {
+            earlier = snapshots.get(snapshot);
+        }
+        if (earlier == null) {
+            return null;
+        }
+        return report(take(), earlier.getHibernate(), earlier.getQueries(), earlier.getTakenAt(), top);
+    }
+
+    @WriteOperation
+    public boolean enable(boolean enabled) {
+        statistics.setStatisticsEnabled(enabled);
+        return statistics.isStatisticsEnabled();
+    }
+
+    @WriteOperation
+    public Instant snapshot(@Selector String snapshot) {
+        Snapshot taken = take();
+        synchronized (snapshots) {
+            snapshots.put(snapshot, taken);
+        }
+        return taken.getTakenAt();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.clear();
+        queryTemplateStatistics.reset();
+        synchronized (snapshots) {
+            snapshots.clear();
+        }
+        resetAt = Instant.now();
+    }
+
+    private Snapshot take() {
+        return Snapshot.of(Instant.now(), HibernateStats.from(statistics), queryTemplateStatistics.snapshot());
+    }
+
+    private QueryStatisticsReport report(Snapshot now, HibernateStats hibernate, Map<String, QueryTemplateStats> queries, Instant from,
+                                         Integer top) {
+        return QueryStatisticsReport.of(statistics.isStatisticsEnabled(), from, now.getTakenAt(), now.getHibernate().minus(hibernate),
+                now.getQueries().size(),
+                now.getQueries().values().stream()
+                        .map(stats -> stats.minus(queries.get(stats.getTemplate())))
+                        .filter(stats -> stats.getExecutions() > 0)
+                        .sorted(Comparator.comparingLong(QueryTemplateStats::getTotalTimeMillis).reversed()
+                                .thenComparing(Comparator.comparingLong(QueryTemplateStats::getExecutions).reversed()))
+                        .limit(Objects.requireNonNullElse(top, properties.getTop()))
+                        .collect(Collectors.toList()));
+    }
+
+    @Data(staticConstructor = "of")
+    private static class Snapshot {
+        private final Instant takenAt;
+        private final HibernateStats hibernate;
+        private final Map<String, QueryTemplateStats> queries;
+    }
+}
@@ -0,0 +1,28 @@
+package io.lcalmsky.querydsl.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Hibernate's own statistics, additionally reporting every executed query to {@link QueryTemplateStatistics}.
+ */
+@RequiredArgsConstructor
+public class QueryStatisticsFactory implements StatisticsFactory {
+    private final QueryTemplateStatistics queryTemplateStatistics;
+
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new StatisticsImpl(sessionFactory) {
+            @Override
+            public void queryExecuted(String hql, int rows, long time) {
+                super.queryExecuted(hql, rows, time);
+                if (hql != null) {
+                    queryTemplateStatistics.record(hql, rows, time);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package io.lcalmsky.querydsl.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "player.query-stats")
+public class QueryStatisticsProperties {
+    /**
+     * Whether Hibernate statistics are collected from startup; the {@code querystats} endpoint can switch them at runtime.
+     */
+    private boolean enabled = false;
+    /**
+     * Distinct query templates tracked; executions of further templates are counted under {@link QueryTemplateStatistics#OTHER}.
+     */
+    private int maxTemplates = 1000;
+    private int maxSnapshots = 10;
+    /**
+     * Templates listed per report, slowest total time first.
+     */
+    private int top = 20;
+}
@@ -0,0 +1,20 @@
+package io.lcalmsky.querydsl.metrics;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * What the {@code querystats} endpoint returns: totals since {@code from}, or the difference between a named
+ * snapshot taken at {@code from} and now.
+ */
+@Data(staticConstructor = "of")
+public class QueryStatisticsReport {
+    private final boolean enabled;
+    private final Instant from;
+    private final Instant to;
+    private final HibernateStats hibernate;
+    private final int templates;
+    private final List<QueryTemplateStats> slowestQueries;
+}
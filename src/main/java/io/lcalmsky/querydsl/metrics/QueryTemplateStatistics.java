@@ -0,0 +1,76 @@
+package io.lcalmsky.querydsl.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Executions, rows and time per query template, fed by {@link QueryStatisticsFactory} for every HQL/JPQL and native
+ * query Hibernate runs while statistics are enabled. The template is the query string with literals replaced by
+ * {@code ?} and whitespace collapsed, so Querydsl queries that differ only in inlined values share an entry; bound
+ * parameters already do.
+ */
+@Component
+public class QueryTemplateStatistics {
+    public static final String OTHER = "(other)";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w?:.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final QueryStatisticsProperties properties;
+    private final Map<String, Aggregate> aggregates = new ConcurrentHashMap<>();
+
+    public QueryTemplateStatistics(QueryStatisticsProperties properties) {
+        this.properties = properties;
+    }
+
+    public void record(String query, long rows, long timeMillis) {
+        String template = template(query);
+        Aggregate aggregate = aggregates.get(template);
+        if (aggregate == null) {
+            aggregate = aggregates.computeIfAbsent(aggregates.size() < properties.getMaxTemplates() ? template : OTHER,
+                    key -> new Aggregate());
+        }
+        aggregate.record(rows, timeMillis);
+    }
+
+    public Map<String, QueryTemplateStats> snapshot() {
+        return aggregates.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> entry.getValue().toStats(entry.getKey())));
+    }
+
+    public void reset() {
+        aggregates.clear();
+    }
+
+    static String template(String query) {
+        String template = STRING_LITERAL.matcher(query).replaceAll("?");
+        template = NUMERIC_LITERAL.matcher(template).replaceAll("?");
+        return WHITESPACE.matcher(template).replaceAll(" ").trim();
+    }
+
+    private static class Aggregate {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+        private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0);
+
+        void record(long rows, long timeMillis) {
+            executions.increment();
+            this.rows.add(rows);
+            totalTime.add(timeMillis);
+            maxTime.accumulate(timeMillis);
+        }
+
+        QueryTemplateStats toStats(String template) {
+            return QueryTemplateStats.of(template, executions.sum(), rows.sum(), totalTime.sum(), maxTime.get());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.lcalmsky.querydsl.metrics;
+
+import lombok.Data;
+
+/**
+ * Executions of one query template. Everything but {@code maxTimeMillis} is additive; in a diff the maximum is the
+ * one of the later snapshot.
+ */
+@Data(staticConstructor = "of")
+public class QueryTemplateStats {
+    private final String template;
+    private final long executions;
+    private final long rows;
+    private final long totalTimeMillis;
+    private final long maxTimeMillis;
+
+    public double getMeanTimeMillis() {
+        return executions == 0 ? 0 : (double) totalTimeMillis / executions;
+    }
+
+    public double getMeanRows() {
+        return executions == 0 ? 0 : (double) rows / executions;
+    }
+
+    QueryTemplateStats minus(QueryTemplateStats earlier) {
+        return earlier == null ? this : of(template, executions - earlier.executions, rows - earlier.rows,
+                totalTimeMillis - earlier.totalTimeMillis, maxTimeMillis);
+    }
+}
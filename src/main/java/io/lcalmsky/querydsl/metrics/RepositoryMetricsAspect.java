@@ -0,0 +1,66 @@
+package io.lcalmsky.querydsl.metrics;
+
+import io.lcalmsky.querydsl.domain.CursorPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Times every search/write method of the player repositories as {@code player.repository} and records the
+ * number of rows they return. Streams are timed up to the point the cursor is opened.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+    private final MeterRegistry meterRegistry;
+    private final QueryMetrics queryMetrics;
+
+    @Around("within(io.lcalmsky.querydsl.repository..*) && ("
+            + "execution(* io.lcalmsky.querydsl.repository.CustomPlayerRepository.*(..)) || "
+            + "execution(public * io.lcalmsky.querydsl.repository.PlayerQuerydslRepository.*(..)))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            queryMetrics.rowsFetched(rows(result));
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("player.repository")
+                    .description("Player repository method latency")
+                    .tag("class", AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private long rows(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof CursorPage) {
+            return ((CursorPage<?>) result).getContent().size();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,15 @@
+package io.lcalmsky.querydsl.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+@RequiredArgsConstructor
+public class SqlStatementCounter implements StatementInspector {
+    private final QueryMetrics queryMetrics;
+
+    @Override
+    public String inspect(String sql) {
+        queryMetrics.statementPrepared();
+        return sql;
+    }
+}
@@ -1,16 +1,22 @@
 package io.lcalmsky.querydsl.repository;
 
+import io.lcalmsky.querydsl.domain.CursorPage;
 import io.lcalmsky.querydsl.domain.PlayerDetails;
 import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CustomPlayerRepository {
     List<PlayerDetails> findPlayerTeamBy(PlayerQueryParam playerQueryParam);
 
+    Stream<PlayerDetails> streamPlayerTeamBy(PlayerQueryParam playerQueryParam);
+
     Page<PlayerDetails> findPlayerTeamPageBy(PlayerQueryParam playerQueryParam, Pageable pageable);
 
     Page<PlayerDetails> findPlayerTeamCountPageBy(PlayerQueryParam playerQueryParam, Pageable pageable);
+
+    CursorPage<PlayerDetails> findPlayerTeamCursorBy(PlayerQueryParam playerQueryParam, String cursor, int size);
 }
@@ -0,0 +1,169 @@
+package io.lcalmsky.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.lcalmsky.querydsl.event.PlayerChange;
+import io.lcalmsky.querydsl.event.PlayerChangedEvent;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import static io.lcalmsky.querydsl.domain.QTeam.team;
+
+/**
+ * Committed player data held in memory, loaded on first read and then kept current from {@link PlayerChangedEvent}s
+ * applied under a write lock. Every event is counted before the loaded check, so a load running concurrently sees it
+ * and marks itself stale: the write may or may not be in what the load read, and the next read loads again. Events a
+ * load already read are skipped. Names of teams an event refers to are fetched before the write lock is taken, and a
+ * bulk event the subclass can't apply forces a load on the next read.
+ * <p>
+ * Loads and team lookups run in a read-write transaction of their own, which
+ * {@link io.lcalmsky.querydsl.datasource.ReplicaRoutingDataSource} sends to the primary: a lagging replica could
+ * return data missing commits whose events were already counted, and it would stay stale until the next reload.
+ */
+public abstract class EventDrivenSnapshot {
+    protected final JPAQueryFactory queryFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong changes = new AtomicLong();
+    private volatile boolean loaded;
+    private long loadedChanges;
+
+    protected EventDrivenSnapshot(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.queryFactory = new JPAQueryFactory(entityManager);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayerChanged(PlayerChangedEvent event) {
+        long change = changes.incrementAndGet();
+        if (!loaded) {
+            return;
+        }
+        Map<Long, String> newTeams = fetchTeamNames(unknownTeamIds(event.teamIds()));
+        lock.writeLock().lock();
+        try {
+            if (!loaded || change <= loadedChanges) {
+                return;
+            }
+            newTeams.forEach((id, name) -> {
+                if (!isKnownTeam(id)) {
+                    addTeam(id, name);
+                }
+            });
+            if (event.isBulk()) {
+                if (!applyBulk(event)) {
+                    invalidate();
+                }
+                return;
+            }
+            event.getChanges().forEach(this::apply);
+            afterChanges();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs the query under the read lock, loading first if needed.
+     */
+    protected <T> T read(Supplier<T> query) {
+        if (!loaded) {
+            load();
+        }
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the data so the next read loads again; called under the write lock by a change that can't be applied.
+     */
+    protected void invalidate() {
+        loaded = false;
+    }
+
+    /**
+     * Clears the data and reads it again, inside a transaction and under the write lock.
+     */
+    protected abstract void reload();
+
+    protected abstract void apply(PlayerChange change);
+
+    /**
+     * Applies a bulk event, which carries no rows; returns {@code false} to load again instead.
+     */
+    protected boolean applyBulk(PlayerChangedEvent event) {
+        return false;
+    }
+
+    /**
+     * Called under the write lock after the rows of an event were applied.
+     */
+    protected void afterChanges() {
+    }
+
+    protected abstract boolean isKnownTeam(Long teamId);
+
+    protected abstract void addTeam(Long teamId, String name);
+
+    /**
+     * Names of the given teams, read in the caller's transaction.
+     */
+    protected Map<Long, String> queryTeamNames(Set<Long> teamIds) {
+        Map<Long, String> names = new HashMap<>();
+        if (!teamIds.isEmpty()) {
+            queryFactory.select(team.id, team.name)
+                    .from(team)
+                    .where(team.id.in(teamIds))
+                    .fetch()
+                    .forEach(row -> names.put(row.get(team.id), row.get(team.name)));
+        }
+        return names;
+    }
+
+    private void load() {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            long seen = changes.get();
+            transactionTemplate.executeWithoutResult(status -> reload());
+            loadedChanges = seen;
+            loaded = changes.get() == seen;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Set<Long> unknownTeamIds(Set<Long> teamIds) {
+        lock.readLock().lock();
+        try {
+            teamIds.removeIf(this::isKnownTeam);
+            return teamIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, String> fetchTeamNames(Set<Long> teamIds) {
+        if (teamIds.isEmpty()) {
+            return Map.of();
+        }
+        return transactionTemplate.execute(status -> queryTeamNames(teamIds));
+    }
+}
@@ -0,0 +1,11 @@
+package io.lcalmsky.querydsl.repository;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "player.bulk")
+public class PlayerBulkProperties {
+    private long chunkSize = 10000;
+    private int parallelism = 4;
+}
@@ -0,0 +1,168 @@
+package io.lcalmsky.querydsl.repository;
+
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.lcalmsky.querydsl.domain.BulkProgress;
+import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.event.PlayerChangePublisher;
+import io.lcalmsky.querydsl.event.PlayerEventProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static io.lcalmsky.querydsl.domain.QPlayer.player;
+import static io.lcalmsky.querydsl.domain.QTeam.team;
+
+/**
+ * Set-based writes split into primary key ranges of the matching rows, each committed in its own short transaction
+ * so no lock is held for the whole run. Chunks that already committed stay committed when a later one fails, so these
+ * operations are not atomic and must not be called from inside a transaction.
+ */
+@Repository
+public class PlayerBulkRepository implements DisposableBean {
+    private final EntityManager entityManager;
+    private final JPAQueryFactory queryFactory;
+    private final PlayerChangePublisher changePublisher;
+    private final PlayerEventProperties eventProperties;
+    private final PlayerBulkProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executorService;
+
+    public PlayerBulkRepository(EntityManager entityManager, PlayerChangePublisher changePublisher, PlayerEventProperties eventProperties,
+                                PlayerBulkProperties properties, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.queryFactory = new JPAQueryFactory(entityManager);
+        this.changePublisher = changePublisher;
+        this.eventProperties = eventProperties;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executorService = ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(properties.getParallelism(), new CustomizableThreadFactory("player-bulk-")), "player.bulk");
+    }
+
+    /**
+     * Set-based {@link io.lcalmsky.querydsl.domain.Player#raiseSalary(float)} for every player matching the param.
+     * The listener is called from worker threads after each chunk commits.
+     */
+    @Transactional(propagation = Propagation.NEVER)
+    public BulkProgress raiseSalary(PlayerQueryParam playerQueryParam, float rate, Consumer<BulkProgress> progressListener) {
+        List<long[]> chunks = chunks(playerQueryParam);
+        if (chunks.isEmpty()) {
+            return BulkProgress.of(0, 0, 0);
+        }
+
+        AtomicInteger completedChunks = new AtomicInteger();
+        AtomicLong affectedRows = new AtomicLong();
+        AtomicBoolean failed = new AtomicBoolean();
+        CompletableFuture<?>[] futures = chunks.stream()
+                .map(chunk -> CompletableFuture.runAsync(() -> {
+                    if (failed.get()) {
+                        return;
+                    }
+                    try {
+                        Long rows = transactionTemplate.execute(status -> raiseSalary(playerQueryParam, rate, chunk));
+                        long total = affectedRows.addAndGet(rows == null ? 0 : rows);
+                        progressListener.accept(BulkProgress.of(completedChunks.incrementAndGet(), chunks.size(), total));
+                    } catch (RuntimeException e) {
+                        failed.set(true);
+                        throw e;
+                    }
+                }, executorService))
+                .toArray(CompletableFuture[]::new);
+        try {
+            PlayerQueryExecutor.await(CompletableFuture.allOf(futures));
+        } finally {
+            // drops entities an open-in-view session may still hold with the old salary, including after a failed run
+            entityManager.clear();
+        }
+        return BulkProgress.of(completedChunks.get(), chunks.size(), affectedRows.get());
+    }
+
+    private long raiseSalary(PlayerQueryParam playerQueryParam, float rate, long[] chunk) {
+        BooleanExpression inChunk = player.id.between(chunk[0], chunk[1]).and(ExpressionUtils.allOf(conditions(playerQueryParam)));
+        PlayerSnapshots snapshots = PlayerSnapshots.lock(queryFactory, eventProperties.getMaxSnapshotRows(), inChunk);
+        long rows = queryFactory.update(player)
+                .set(player.weeklySalary, Expressions.numberTemplate(Integer.class,
+                        "cast(floor({0} + {0} * {1}) as integer)", player.weeklySalary, Player.raiseRate(rate)))
+                .where(inChunk)
+                .execute();
+        snapshots.publishUpdated(changePublisher);
+        return rows;
+    }
+
+    /**
+     * Cuts the matching ids, in order, into chunks of {@code chunk-size} matches. Each chunk runs from its first id to
+     * just before the next one's, so sparse matches don't leave chunks empty and no id in between is skipped.
+     */
+    private List<long[]> chunks(PlayerQueryParam playerQueryParam) {
+        List<long[]> chunks = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Long> ids = queryFactory
+                    .select(player.id)
+                    .from(player)
+                    .where(conditions(playerQueryParam))
+                    .orderBy(player.id.asc())
+                    .setHint(QueryHints.FETCH_SIZE, PlayerQuerySupport.STREAM_FETCH_SIZE)
+                    .stream()) {
+                long[] matches = {0};
+                ids.forEach(id -> {
+                    if (matches[0]++ % properties.getChunkSize() == 0) {
+                        if (!chunks.isEmpty()) {
+                            chunks.get(chunks.size() - 1)[1] = id - 1;
+                        }
+                        chunks.add(new long[]{id, id});
+                    } else {
+                        chunks.get(chunks.size() - 1)[1] = id;
+                    }
+                });
+            }
+        });
+        return chunks;
+    }
+
+    private BooleanExpression[] conditions(PlayerQueryParam playerQueryParam) {
+        return new BooleanExpression[]{
+                condition(playerQueryParam.getName(), name -> playerQueryParam.getNameMatch().condition(player.name, name)),
+                condition(playerQueryParam.getAge(), player.age::eq),
+                // update statements can't join, so the team filter goes through a subquery
+                condition(playerQueryParam.getTeamName(), teamName -> player.team.id.in(JPAExpressions
+                        .select(team.id)
+                        .from(team)
+                        .where(playerQueryParam.getTeamNameMatch().condition(team.name, teamName))))
+        };
+    }
+
+    private <T> BooleanExpression condition(T value, Function<T, BooleanExpression> function) {
+        return Optional.ofNullable(value).map(function).orElse(null);
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdown();
+    }
+}
@@ -0,0 +1,10 @@
+package io.lcalmsky.querydsl.repository;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "player.ingest")
+public class PlayerIngestProperties {
+    private int chunkSize = 1000;
+}
@@ -0,0 +1,76 @@
+package io.lcalmsky.querydsl.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool that runs search queries side by side, each in its own read-only transaction and therefore on its
+ * own {@code EntityManager} and connection. Callers must not hold a transaction of their own while they wait, so an
+ * in-flight page holds one connection per running query and the pool as a whole at most {@code max-pool-size},
+ * plus one per caller running a rejected query itself. Keep {@code max-pool-size} below the connection pool size.
+ */
+@Component
+public class PlayerQueryExecutor implements DisposableBean {
+    private final PlayerQueryExecutorProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate callerTransactionTemplate;
+    private final ExecutorService executorService;
+
+    public PlayerQueryExecutor(PlayerQueryExecutorProperties properties, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.callerTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.callerTransactionTemplate.setReadOnly(true);
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(properties.getCorePoolSize(), properties.getMaxPoolSize(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("player-query-"), new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executorService = ExecutorServiceMetrics.monitor(meterRegistry, threadPoolExecutor, "player.query");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> query.get()), executorService);
+    }
+
+    /**
+     * Runs the query on the calling thread in a read-only transaction, joining the caller's if there is one.
+     */
+    public <T> T execute(Supplier<T> query) {
+        return callerTransactionTemplate.execute(status -> query.get());
+    }
+
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdown();
+    }
+}
@@ -0,0 +1,13 @@
+package io.lcalmsky.querydsl.repository;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "player.search.parallel")
+public class PlayerQueryExecutorProperties {
+    private boolean enabled = false;
+    private int corePoolSize = 4;
+    private int maxPoolSize = 8;
+    private int queueCapacity = 100;
+}
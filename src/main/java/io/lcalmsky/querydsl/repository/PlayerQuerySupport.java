@@ -0,0 +1,70 @@
+package io.lcalmsky.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberExpression;
+import io.lcalmsky.querydsl.domain.CursorPage;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.param.PlayerCursor;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streaming and cursor paging shared by the player searches, over whichever backend's paths they are given.
+ */
+public final class PlayerQuerySupport {
+    public static final int STREAM_FETCH_SIZE = 1000;
+
+    private PlayerQuerySupport() {
+    }
+
+    /**
+     * Clears the persistence context every {@link #STREAM_FETCH_SIZE} rows so a long stream doesn't hold every
+     * entity it loaded.
+     */
+    public static <T> Stream<T> clearEvery(Stream<T> rows, EntityManager entityManager) {
+        int[] count = {0};
+        return rows.peek(row -> {
+            if (++count[0] % STREAM_FETCH_SIZE == 0) {
+                entityManager.clear();
+            }
+        });
+    }
+
+    /**
+     * Rows after the cursor in {@code (weekly_salary nulls first, player_id)} order, or {@code null} without one.
+     */
+    public static BooleanExpression after(PlayerCursor cursor, NumberExpression<Integer> weeklySalary, NumberExpression<Long> id) {
+        if (cursor == null) {
+            return null;
+        }
+        if (cursor.getWeeklySalary() == null) {
+            // rows without a salary come first, the rest of them by id, then every row with one
+            return weeklySalary.isNull().and(id.gt(cursor.getId()))
+                    .or(weeklySalary.isNotNull());
+        }
+        return weeklySalary.goe(cursor.getWeeklySalary())
+                .and(weeklySalary.gt(cursor.getWeeklySalary())
+                        .or(id.gt(cursor.getId())));
+    }
+
+    /**
+     * The first {@code size} of up to {@code size + 1} rows, with a cursor after the last one when there are more.
+     */
+    public static CursorPage<PlayerDetails> cursorPage(List<Tuple> rows, Expression<PlayerDetails> playerDetails,
+                                                       Expression<Long> id, int size) {
+        List<Tuple> content = rows.size() > size ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (rows.size() > size) {
+            Tuple last = content.get(content.size() - 1);
+            nextCursor = PlayerCursor.of(last.get(playerDetails).getWeeklySalary(), last.get(id)).encode();
+        }
+        return CursorPage.of(content.stream()
+                .map(row -> row.get(playerDetails))
+                .collect(Collectors.toList()), nextCursor);
+    }
+}
@@ -0,0 +1,152 @@
+package io.lcalmsky.querydsl.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.impl.JPAProvider;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.QPlayerDetails;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import lombok.Data;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.lcalmsky.querydsl.domain.QPlayer.player;
+import static io.lcalmsky.querydsl.domain.QTeam.team;
+
+/**
+ * JPQL for the search queries, serialized once per filter shape and sort and bound with the param values on
+ * every call. {@link PlayerQueryParam} has three optional filters, so there are eight shapes per sort.
+ */
+class PlayerQueryTemplates {
+    private static final int NAME = 1;
+    private static final int AGE = 1 << 1;
+    private static final int TEAM_NAME = 1 << 2;
+
+    private static final Param<String> NAME_PARAM = new Param<>(String.class, "name");
+    private static final Param<Integer> AGE_PARAM = new Param<>(Integer.class, "age");
+    private static final Param<String> TEAM_NAME_PARAM = new Param<>(String.class, "teamName");
+    private static final QPlayerDetails PLAYER_DETAILS = new QPlayerDetails(player.name, player.age, player.inSeason, player.weeklySalary, team.name);
+
+    private final EntityManager entityManager;
+    private final JPAQueryFactory queryFactory;
+    // whitelisted sort keys keep the shapes finite, but combinations of them still grow quickly
+    private final Cache<TemplateKey, Template> templates = Caffeine.newBuilder()
+            .maximumSize(256)
+            .build();
+
+    PlayerQueryTemplates(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.queryFactory = new JPAQueryFactory(entityManager);
+    }
+
+    List<PlayerDetails> fetch(PlayerQueryParam playerQueryParam, Pageable pageable) {
+        Query query = createQuery(select(mask(playerQueryParam), pageable.getSort()), playerQueryParam);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return ((List<?>) query.getResultList()).stream()
+                .map(this::playerDetails)
+                .collect(Collectors.toList());
+    }
+
+    Stream<PlayerDetails> stream(PlayerQueryParam playerQueryParam, int fetchSize) {
+        Stream<?> rows = createQuery(select(mask(playerQueryParam), Sort.unsorted()), playerQueryParam)
+                .setHint(QueryHints.FETCH_SIZE, fetchSize)
+                .getResultStream();
+        return rows.map(this::playerDetails);
+    }
+
+    long count(PlayerQueryParam playerQueryParam) {
+        return (Long) createQuery(count(mask(playerQueryParam)), playerQueryParam).getSingleResult();
+    }
+
+    private Template select(int mask, Sort sort) {
+        return templates.get(TemplateKey.of(mask, false, sort), key -> serialize(where(joinTeam(queryFactory
+                .select(PLAYER_DETAILS)
+                .from(player), mask), mask)
+                .orderBy(PlayerSortRegistry.JPA.orderBy(sort))
+                .getMetadata()));
+    }
+
+    private Template count(int mask) {
+        return templates.get(TemplateKey.of(mask, true, Sort.unsorted()), key -> serialize(where(joinTeam(queryFactory
+                .select(player.count())
+                .from(player), mask), mask)
+                .getMetadata()));
+    }
+
+    private Template serialize(QueryMetadata metadata) {
+        JPQLSerializer serializer = new JPQLSerializer(JPAProvider.getTemplates(entityManager), entityManager);
+        serializer.serialize(metadata, false, null);
+        return Template.of(serializer.toString(), List.copyOf(serializer.getConstants()));
+    }
+
+    private Query createQuery(Template template, PlayerQueryParam playerQueryParam) {
+        Query query = entityManager.createQuery(template.getJpql());
+        List<Object> constants = template.getConstants();
+        for (int i = 0; i < constants.size(); i++) {
+            Object constant = constants.get(i);
+            query.setParameter(i + 1, constant instanceof Param ? value((Param<?>) constant, playerQueryParam) : constant);
+        }
+        return query;
+    }
+
+    private Object value(Param<?> param, PlayerQueryParam playerQueryParam) {
+        if (param == NAME_PARAM) {
+            return playerQueryParam.getName();
+        }
+        if (param == AGE_PARAM) {
+            return playerQueryParam.getAge();
+        }
+        return playerQueryParam.getTeamName();
+    }
+
+    private PlayerDetails playerDetails(Object row) {
+        return PLAYER_DETAILS.newInstance((Object[]) row);
+    }
+
+    private int mask(PlayerQueryParam playerQueryParam) {
+        return (playerQueryParam.getName() == null ? 0 : NAME)
+                | (playerQueryParam.getAge() == null ? 0 : AGE)
+                | (playerQueryParam.getTeamName() == null ? 0 : TEAM_NAME);
+    }
+
+    private <T> JPAQuery<T> joinTeam(JPAQuery<T> query, int mask) {
+        return (mask & TEAM_NAME) == 0
+                ? query.leftJoin(player.team, team)
+                : query.join(player.team, team);
+    }
+
+    private <T> JPAQuery<T> where(JPAQuery<T> query, int mask) {
+        return query.where((mask & NAME) == 0 ? null : player.name.eq(NAME_PARAM),
+                (mask & AGE) == 0 ? null : player.age.eq(AGE_PARAM),
+                (mask & TEAM_NAME) == 0 ? null : team.name.eq(TEAM_NAME_PARAM));
+    }
+
+
+    @Data(staticConstructor = "of")
+    private static class TemplateKey {
+        private final int mask;
+        private final boolean count;
+        private final Sort sort;
+    }
+
+    @Data(staticConstructor = "of")
+    private static class Template {
+        private final String jpql;
+        private final List<Object> constants;
+    }
+}
@@ -1,48 +1,105 @@
 package io.lcalmsky.querydsl.repository;
 
-import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
 import io.lcalmsky.querydsl.domain.Player;
 import io.lcalmsky.querydsl.domain.PlayerWithTeamData;
+import io.lcalmsky.querydsl.domain.QPlayerWithTeamData;
 import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.event.PlayerChangePublisher;
+import io.lcalmsky.querydsl.event.PlayerEventProperties;
+import io.lcalmsky.querydsl.repository.cache.PlayerSearchCache;
+import io.lcalmsky.querydsl.repository.name.PlayerNameIndex;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 import static io.lcalmsky.querydsl.domain.QPlayer.player;
 import static io.lcalmsky.querydsl.domain.QTeam.team;
+import static io.lcalmsky.querydsl.repository.PlayerQuerySupport.STREAM_FETCH_SIZE;
+import static io.lcalmsky.querydsl.repository.PlayerQuerySupport.clearEvery;
 
 @Repository
 @Transactional
 public class PlayerQuerydslRepository {
-
     @PersistenceContext
     private final EntityManager entityManager;
     private final JPAQueryFactory queryFactory;
+    private final PlayerChangePublisher changePublisher;
+    private final PlayerEventProperties eventProperties;
+    private final PlayerIngestProperties ingestProperties;
+    private final PlayerSearchCache playerSearchCache;
+    private final PlayerNameIndex playerNameIndex;
 
-    public PlayerQuerydslRepository(EntityManager entityManager) {
+    public PlayerQuerydslRepository(EntityManager entityManager, PlayerChangePublisher changePublisher,
+                                    PlayerEventProperties eventProperties, PlayerIngestProperties ingestProperties,
+                                    PlayerSearchCache playerSearchCache, PlayerNameIndex playerNameIndex) {
         this.entityManager = entityManager;
         this.queryFactory = new JPAQueryFactory(entityManager);
+        this.changePublisher = changePublisher;
+        this.eventProperties = eventProperties;
+        this.ingestProperties = ingestProperties;
+        this.playerSearchCache = playerSearchCache;
+        this.playerNameIndex = playerNameIndex;
     }
 
     public void save(Player player) {
         entityManager.persist(player);
     }
 
-    public void saveAll(Collection<Player> players) {
+    /**
+     * Flushes and clears the persistence context every {@code player.ingest.chunk-size} players. The transaction keeps
+     * at most {@code player.events.max-changes} row changes for its after-commit event, so a large load holds a
+     * bounded number of entities and snapshots.
+     */
+    public void saveAll(Iterable<Player> players) {
+        int chunkSize = ingestProperties.getChunkSize();
+        int count = 0;
         for (Player player : players) {
             entityManager.persist(player);
+            if (++count % chunkSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
         }
     }
 
+    public long bulkUpdate(UnaryOperator<JPAUpdateClause> setter, Predicate... where) {
+        entityManager.flush();
+        PlayerSnapshots snapshots = PlayerSnapshots.lock(queryFactory, eventProperties.getMaxSnapshotRows(), where);
+        long affectedRows = setter.apply(queryFactory.update(player))
+                .where(where)
+                .execute();
+        entityManager.clear();
+        snapshots.publishUpdated(changePublisher);
+        return affectedRows;
+    }
+
+    public long bulkDelete(Predicate... where) {
+        entityManager.flush();
+        PlayerSnapshots snapshots = PlayerSnapshots.lock(queryFactory, eventProperties.getMaxSnapshotRows(), where);
+        long affectedRows = queryFactory.delete(player)
+                .where(where)
+                .execute();
+        entityManager.clear();
+        snapshots.publishDeleted(changePublisher);
+        return affectedRows;
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Player> findById(Long id) {
         return Optional.ofNullable(queryFactory
                 .selectFrom(player)
@@ -50,12 +107,14 @@ public class PlayerQuerydslRepository {
                 .fetchOne());
     }
 
+    @Transactional(readOnly = true)
     public List<Player> findAll() {
         return queryFactory
                 .selectFrom(player)
                 .fetch();
     }
 
+    @Transactional(readOnly = true)
     public List<Player> findByName(String name) {
         return queryFactory
                 .selectFrom(player)
@@ -63,18 +122,52 @@ public class PlayerQuerydslRepository {
                 .fetch();
     }
 
-    public List<PlayerWithTeamData> findPlayerTeamBy(PlayerQueryParam playerQueryParam) {
+    @Transactional(readOnly = true)
+    public List<Player> findAllWithTeam() {
+        return queryFactory
+                .selectFrom(player)
+                .leftJoin(player.team, team).fetchJoin()
+                .fetch();
+    }
 
+    @Transactional(readOnly = true)
+    public List<Player> findByNameWithTeam(String name) {
         return queryFactory
-                .select(Projections.bean(PlayerWithTeamData.class, player.name, player.age, team.name.as("teamName")))
-                .from(player)
-                .leftJoin(player.team, team)
-                .where(condition(playerQueryParam.getName(), player.name::eq),
-                        condition(playerQueryParam.getAge(), player.age::eq),
-                        condition(playerQueryParam.getTeamName(), team.name::eq))
+                .selectFrom(player)
+                .leftJoin(player.team, team).fetchJoin()
+                .where(player.name.eq(name))
                 .fetch();
     }
 
+    @Transactional(readOnly = true)
+    public List<PlayerWithTeamData> findPlayerTeamBy(PlayerQueryParam playerQueryParam) {
+        return playerSearchCache.get(PlayerWithTeamData.class, playerQueryParam, () -> joinTeam(queryFactory
+                .select(new QPlayerWithTeamData(player.name, player.age, team.name))
+                .from(player), playerQueryParam)
+                .where(playerNameIndex.playerName(player.name, playerQueryParam),
+                        condition(playerQueryParam.getAge(), player.age::eq),
+                        playerNameIndex.teamName(team.name, playerQueryParam))
+                .fetch());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<PlayerWithTeamData> streamPlayerTeamBy(PlayerQueryParam playerQueryParam) {
+        return clearEvery(joinTeam(queryFactory
+                .select(new QPlayerWithTeamData(player.name, player.age, team.name))
+                .from(player), playerQueryParam)
+                .where(playerNameIndex.playerName(player.name, playerQueryParam),
+                        condition(playerQueryParam.getAge(), player.age::eq),
+                        playerNameIndex.teamName(team.name, playerQueryParam))
+                .setHint(QueryHints.FETCH_SIZE, STREAM_FETCH_SIZE)
+                .stream(), entityManager);
+    }
+
+    private <T> JPAQuery<T> joinTeam(JPAQuery<T> query, PlayerQueryParam playerQueryParam) {
+        return playerQueryParam.getTeamName() == null
+                ? query.leftJoin(player.team, team)
+                : query.join(player.team, team);
+    }
+
     private <T> BooleanExpression condition(T value, Function<T, BooleanExpression> function) {
         return Optional.ofNullable(value).map(function).orElse(null);
     }
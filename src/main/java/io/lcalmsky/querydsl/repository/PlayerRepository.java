@@ -1,6 +1,7 @@
 package io.lcalmsky.querydsl.repository;
 
 import io.lcalmsky.querydsl.domain.Player;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.stereotype.Repository;
@@ -10,4 +11,10 @@ import java.util.List;
 @Repository
 public interface PlayerRepository extends JpaRepository<Player, Long>, CustomPlayerRepository, QuerydslPredicateExecutor<Player> {
     List<Player> findByName(String name);
+
+    @EntityGraph(attributePaths = "team")
+    List<Player> findAllWithTeamBy();
+
+    @EntityGraph(attributePaths = "team")
+    List<Player> findWithTeamByName(String name);
 }
@@ -1,41 +1,75 @@
 package io.lcalmsky.querydsl.repository;
 
 import com.querydsl.core.QueryResults;
-import com.querydsl.core.types.Order;
-import com.querydsl.core.types.OrderSpecifier;
-import com.querydsl.core.types.Projections;
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.dsl.BooleanExpression;
-import com.querydsl.core.types.dsl.PathBuilder;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
-import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.CursorPage;
 import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.QPlayerDetails;
+import io.lcalmsky.querydsl.domain.param.PlayerCursor;
 import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.repository.cache.PlayerCountCache;
+import io.lcalmsky.querydsl.repository.cache.PlayerSearchCache;
+import io.lcalmsky.querydsl.repository.name.PlayerNameIndex;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.persistence.EntityManager;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static io.lcalmsky.querydsl.domain.QPlayer.player;
 import static io.lcalmsky.querydsl.domain.QTeam.team;
+import static io.lcalmsky.querydsl.repository.PlayerQuerySupport.STREAM_FETCH_SIZE;
+import static io.lcalmsky.querydsl.repository.PlayerQuerySupport.after;
+import static io.lcalmsky.querydsl.repository.PlayerQuerySupport.clearEvery;
+import static io.lcalmsky.querydsl.repository.PlayerQuerySupport.cursorPage;
 
 
+@Transactional(readOnly = true)
 public class PlayerRepositoryImpl implements CustomPlayerRepository {
+    private final EntityManager entityManager;
     private final JPAQueryFactory queryFactory;
+    private final PlayerCountCache playerCountCache;
+    private final PlayerSearchCache playerSearchCache;
+    private final PlayerQueryExecutor playerQueryExecutor;
+    private final PlayerQueryTemplates playerQueryTemplates;
+    private final PlayerNameIndex playerNameIndex;
 
-    public PlayerRepositoryImpl(EntityManager entityManager) {
+    public PlayerRepositoryImpl(EntityManager entityManager, PlayerCountCache playerCountCache, PlayerSearchCache playerSearchCache,
+                                PlayerQueryExecutor playerQueryExecutor, PlayerNameIndex playerNameIndex) {
+        this.entityManager = entityManager;
         this.queryFactory = new JPAQueryFactory(entityManager);
+        this.playerCountCache = playerCountCache;
+        this.playerSearchCache = playerSearchCache;
+        this.playerQueryExecutor = playerQueryExecutor;
+        this.playerQueryTemplates = new PlayerQueryTemplates(entityManager);
+        this.playerNameIndex = playerNameIndex;
     }
 
     @Override
     public List<PlayerDetails> findPlayerTeamBy(PlayerQueryParam playerQueryParam) {
-        return selectFromWhere(playerQueryParam)
-                .fetch();
+        return playerSearchCache.get(PlayerDetails.class, playerQueryParam, () -> playerQueryParam.isExactMatch()
+                ? playerQueryTemplates.fetch(playerQueryParam, Pageable.unpaged())
+                : selectFromWhere(playerQueryParam).fetch());
+    }
+
+    @Override
+    public Stream<PlayerDetails> streamPlayerTeamBy(PlayerQueryParam playerQueryParam) {
+        return clearEvery(playerQueryParam.isExactMatch()
+                ? playerQueryTemplates.stream(playerQueryParam, STREAM_FETCH_SIZE)
+                : selectFromWhere(playerQueryParam).setHint(QueryHints.FETCH_SIZE, STREAM_FETCH_SIZE).stream(), entityManager);
     }
 
     @Override
@@ -43,50 +77,88 @@ public class PlayerRepositoryImpl implements CustomPlayerRepository {
         QueryResults<PlayerDetails> playerDetails = selectFromWhere(playerQueryParam)
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
-                .orderBy(orderCondition(pageable))
+                .orderBy(PlayerSortRegistry.JPA.orderBy(pageable.getSort()))
                 .fetchResults();
 
         return new PageImpl<>(playerDetails.getResults(), pageable, playerDetails.getTotal());
     }
 
+    /**
+     * Runs the content and count queries in parallel only when called outside a transaction. An outer transaction
+     * would pin a connection of its own for as long as the page waits on the two queries. Otherwise both run here,
+     * in the caller's transaction or a read-only one.
+     */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<PlayerDetails> findPlayerTeamCountPageBy(PlayerQueryParam playerQueryParam, Pageable pageable) {
-        List<PlayerDetails> playerDetails = selectFromWhere(playerQueryParam)
+        if (playerQueryExecutor.isEnabled() && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return findPlayerTeamCountPageInParallel(playerQueryParam, pageable);
+        }
+        return playerQueryExecutor.execute(() -> {
+            List<PlayerDetails> playerDetails = selectPage(playerQueryParam, pageable);
+
+            return PageableExecutionUtils.getPage(playerDetails, pageable, () -> count(playerQueryParam));
+        });
+    }
+
+    private Page<PlayerDetails> findPlayerTeamCountPageInParallel(PlayerQueryParam playerQueryParam, Pageable pageable) {
+        CompletableFuture<List<PlayerDetails>> playerDetails = playerQueryExecutor.submit(() -> selectPage(playerQueryParam, pageable));
+        CompletableFuture<Long> total = playerQueryExecutor.submit(() -> count(playerQueryParam));
+
+        return PageableExecutionUtils.getPage(PlayerQueryExecutor.await(playerDetails), pageable, () -> PlayerQueryExecutor.await(total));
+    }
+
+    private List<PlayerDetails> selectPage(PlayerQueryParam playerQueryParam, Pageable pageable) {
+        if (playerQueryParam.isExactMatch()) {
+            return playerQueryTemplates.fetch(playerQueryParam, pageable);
+        }
+        return selectFromWhere(playerQueryParam)
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
-                .orderBy(orderCondition(pageable))
+                .orderBy(PlayerSortRegistry.JPA.orderBy(pageable.getSort()))
                 .fetch();
+    }
 
-        JPAQuery<Player> countQuery = queryFactory
-                .select(player)
-                .from(player)
-                .leftJoin(player.team, team)
-                .where(condition(playerQueryParam.getName(), player.name::eq),
+    private long count(PlayerQueryParam playerQueryParam) {
+        if (playerQueryParam.isExactMatch()) {
+            return playerCountCache.count(playerQueryParam, () -> playerQueryTemplates.count(playerQueryParam));
+        }
+        return playerCountCache.count(playerQueryParam, () -> selectFromWhere(playerQueryParam).fetchCount());
+    }
+
+    @Override
+    public CursorPage<PlayerDetails> findPlayerTeamCursorBy(PlayerQueryParam playerQueryParam, String cursor, int size) {
+        QPlayerDetails playerDetails = new QPlayerDetails(player.name, player.age, player.inSeason, player.weeklySalary, team.name);
+        List<Tuple> rows = joinTeam(queryFactory
+                .select(player.id, playerDetails)
+                .from(player), playerQueryParam)
+                .where(playerNameIndex.playerName(player.name, playerQueryParam),
                         condition(playerQueryParam.getAge(), player.age::eq),
-                        condition(playerQueryParam.getTeamName(), team.name::eq));
+                        playerNameIndex.teamName(team.name, playerQueryParam),
+                        after(PlayerCursor.decode(cursor), player.weeklySalary, player.id))
+                .orderBy(player.weeklySalary.asc().nullsFirst(), player.id.asc())
+                .limit(size + 1)
+                .fetch();
 
-        return PageableExecutionUtils.getPage(playerDetails, pageable, countQuery::fetchCount);
+        return cursorPage(rows, playerDetails, player.id, size);
     }
 
     private JPAQuery<PlayerDetails> selectFromWhere(PlayerQueryParam playerQueryParam) {
-        return queryFactory
-                .select(Projections.bean(PlayerDetails.class, player.name, player.age, player.inSeason, player.weeklySalary, team.name.as("teamName")))
-                .from(player)
-                .leftJoin(player.team, team)
-                .where(condition(playerQueryParam.getName(), player.name::eq),
+        return joinTeam(queryFactory
+                .select(new QPlayerDetails(player.name, player.age, player.inSeason, player.weeklySalary, team.name))
+                .from(player), playerQueryParam)
+                .where(playerNameIndex.playerName(player.name, playerQueryParam),
                         condition(playerQueryParam.getAge(), player.age::eq),
-                        condition(playerQueryParam.getTeamName(), team.name::eq));
+                        playerNameIndex.teamName(team.name, playerQueryParam));
     }
 
-    private <T> BooleanExpression condition(T value, Function<T, BooleanExpression> function) {
-        return Optional.ofNullable(value).map(function).orElse(null);
+    private <T> JPAQuery<T> joinTeam(JPAQuery<T> query, PlayerQueryParam playerQueryParam) {
+        return playerQueryParam.getTeamName() == null
+                ? query.leftJoin(player.team, team)
+                : query.join(player.team, team);
     }
 
-    private OrderSpecifier[] orderCondition(Pageable pageable) {
-        PathBuilder<Player> entityPath = new PathBuilder<>(Player.class, "player");
-        return pageable.getSort()
-                .stream()
-                .map(order -> new OrderSpecifier(Order.valueOf(order.getDirection().name()), entityPath.get(order.getProperty())))
-                .toArray(OrderSpecifier[]::new);
+    private <T> BooleanExpression condition(T value, Function<T, BooleanExpression> function) {
+        return Optional.ofNullable(value).map(function).orElse(null);
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,18 @@
 package io.lcalmsky.querydsl.repository;
 
 import com.querydsl.core.QueryResults;
-import com.querydsl.core.types.Order;
-import com.querydsl.core.types.OrderSpecifier;
-import com.querydsl.core.types.Projections;
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.dsl.BooleanExpression;
-import com.querydsl.core.types.dsl.PathBuilder;
 import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.AbstractJPAQuery;
+import com.querydsl.jpa.impl.JPAQuery;
+import io.lcalmsky.querydsl.domain.CursorPage;
 import io.lcalmsky.querydsl.domain.Player;
 import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.QPlayerDetails;
+import io.lcalmsky.querydsl.domain.param.PlayerCursor;
 import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -20,9 +23,14 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static io.lcalmsky.querydsl.domain.QPlayer.player;
 import static io.lcalmsky.querydsl.domain.QTeam.team;
+import static io.lcalmsky.querydsl.repository.PlayerQuerySupport.STREAM_FETCH_SIZE;
+import static io.lcalmsky.querydsl.repository.PlayerQuerySupport.after;
+import static io.lcalmsky.querydsl.repository.PlayerQuerySupport.clearEvery;
+import static io.lcalmsky.querydsl.repository.PlayerQuerySupport.cursorPage;
 
 public class PlayerRepositorySupportedImpl extends QuerydslRepositorySupport implements CustomPlayerRepository {
     public PlayerRepositorySupportedImpl() {
@@ -35,11 +43,25 @@ public class PlayerRepositorySupportedImpl extends QuerydslRepositorySupport imp
                 .fetch();
     }
 
+    @Override
+    public Stream<PlayerDetails> streamPlayerTeamBy(PlayerQueryParam playerQueryParam) {
+        AbstractJPAQuery<Object, JPAQuery<Object>> query = Objects.requireNonNull(getQuerydsl()).createQuery(player);
+        return clearEvery((playerQueryParam.getTeamName() == null ? query.leftJoin(player.team, team) : query.join(player.team, team))
+                .where(condition(playerQueryParam.getName(), name -> playerQueryParam.getNameMatch().condition(player.name, name)),
+                        condition(playerQueryParam.getAge(), player.age::eq),
+                        condition(playerQueryParam.getTeamName(), teamName -> playerQueryParam.getTeamNameMatch().condition(team.name, teamName)))
+                .select(new QPlayerDetails(player.name, player.age, player.inSeason, player.weeklySalary, team.name))
+                .setHint(QueryHints.FETCH_SIZE, STREAM_FETCH_SIZE)
+                .stream(), Objects.requireNonNull(getEntityManager()));
+    }
+
     @Override
     public Page<PlayerDetails> findPlayerTeamPageBy(PlayerQueryParam playerQueryParam, Pageable pageable) {
-        JPQLQuery<PlayerDetails> jpqlQuery = selectFromWhere(playerQueryParam);
-        Objects.requireNonNull(getQuerydsl()).applyPagination(pageable, jpqlQuery);
-        QueryResults<PlayerDetails> playerDetails = jpqlQuery.fetchResults();
+        QueryResults<PlayerDetails> playerDetails = selectFromWhere(playerQueryParam)
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .orderBy(PlayerSortRegistry.JPA.orderBy(pageable.getSort()))
+                .fetchResults();
         return new PageImpl<>(playerDetails.getResults(), pageable, playerDetails.getTotal());
     }
 
@@ -48,38 +70,50 @@ public class PlayerRepositorySupportedImpl extends QuerydslRepositorySupport imp
         List<PlayerDetails> playerDetails = selectFromWhere(playerQueryParam)
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
-                .orderBy(orderCondition(pageable))
+                .orderBy(PlayerSortRegistry.JPA.orderBy(pageable.getSort()))
                 .fetch();
 
         JPQLQuery<Player> countQuery =
-                from(player)
-                        .leftJoin(player.team, team)
-                        .where(condition(playerQueryParam.getName(), player.name::eq),
+                joinTeam(from(player), playerQueryParam)
+                        .where(condition(playerQueryParam.getName(), name -> playerQueryParam.getNameMatch().condition(player.name, name)),
                                 condition(playerQueryParam.getAge(), player.age::eq),
-                                condition(playerQueryParam.getTeamName(), team.name::eq))
+                                condition(playerQueryParam.getTeamName(), teamName -> playerQueryParam.getTeamNameMatch().condition(team.name, teamName)))
                         .select(player);
 
         return PageableExecutionUtils.getPage(playerDetails, pageable, countQuery::fetchCount);
     }
 
+    @Override
+    public CursorPage<PlayerDetails> findPlayerTeamCursorBy(PlayerQueryParam playerQueryParam, String cursor, int size) {
+        QPlayerDetails playerDetails = new QPlayerDetails(player.name, player.age, player.inSeason, player.weeklySalary, team.name);
+        List<Tuple> rows = joinTeam(from(player), playerQueryParam)
+                .where(condition(playerQueryParam.getName(), name -> playerQueryParam.getNameMatch().condition(player.name, name)),
+                        condition(playerQueryParam.getAge(), player.age::eq),
+                        condition(playerQueryParam.getTeamName(), teamName -> playerQueryParam.getTeamNameMatch().condition(team.name, teamName)),
+                        after(PlayerCursor.decode(cursor), player.weeklySalary, player.id))
+                .orderBy(player.weeklySalary.asc().nullsFirst(), player.id.asc())
+                .limit(size + 1)
+                .select(player.id, playerDetails)
+                .fetch();
+
+        return cursorPage(rows, playerDetails, player.id, size);
+    }
+
     private JPQLQuery<PlayerDetails> selectFromWhere(PlayerQueryParam playerQueryParam) {
-        return from(player)
-                .leftJoin(player.team, team)
-                .where(condition(playerQueryParam.getName(), player.name::eq),
+        return joinTeam(from(player), playerQueryParam)
+                .where(condition(playerQueryParam.getName(), name -> playerQueryParam.getNameMatch().condition(player.name, name)),
                         condition(playerQueryParam.getAge(), player.age::eq),
-                        condition(playerQueryParam.getTeamName(), team.name::eq))
-                .select(Projections.bean(PlayerDetails.class, player.name, player.age, player.inSeason, player.weeklySalary, team.name.as("teamName")));
+                        condition(playerQueryParam.getTeamName(), teamName -> playerQueryParam.getTeamNameMatch().condition(team.name, teamName)))
+                .select(new QPlayerDetails(player.name, player.age, player.inSeason, player.weeklySalary, team.name));
     }
 
-    private <T> BooleanExpression condition(T value, Function<T, BooleanExpression> function) {
-        return Optional.ofNullable(value).map(function).orElse(null);
+    private <T> JPQLQuery<T> joinTeam(JPQLQuery<T> query, PlayerQueryParam playerQueryParam) {
+        return playerQueryParam.getTeamName() == null
+                ? query.leftJoin(player.team, team)
+                : query.join(player.team, team);
     }
 
-    private OrderSpecifier[] orderCondition(Pageable pageable) {
-        PathBuilder<Player> entityPath = new PathBuilder<>(Player.class, "player");
-        return pageable.getSort()
-                .stream()
-                .map(order -> new OrderSpecifier(Order.valueOf(order.getDirection().name()), entityPath.get(order.getProperty())))
-                .toArray(OrderSpecifier[]::new);
+    private <T> BooleanExpression condition(T value, Function<T, BooleanExpression> function) {
+        return Optional.ofNullable(value).map(function).orElse(null);
     }
 }
@@ -0,0 +1,26 @@
+package io.lcalmsky.querydsl.repository;
+
+import io.lcalmsky.querydsl.repository.memory.InMemoryPlayerRepository;
+import io.lcalmsky.querydsl.repository.sql.SqlPlayerRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+public class PlayerSearchBackends {
+    private final PlayerSearchProperties properties;
+    private final Map<SearchBackend, CustomPlayerRepository> repositories = new EnumMap<>(SearchBackend.class);
+
+    public PlayerSearchBackends(PlayerSearchProperties properties, PlayerRepository playerRepository, InMemoryPlayerRepository inMemoryPlayerRepository,
+                                SqlPlayerRepository sqlPlayerRepository) {
+        this.properties = properties;
+        repositories.put(SearchBackend.JPA, playerRepository);
+        repositories.put(SearchBackend.MEMORY, inMemoryPlayerRepository);
+        repositories.put(SearchBackend.SQL, sqlPlayerRepository);
+    }
+
+    public CustomPlayerRepository forEndpoint(String endpoint) {
+        return repositories.get(properties.getEndpointBackends().getOrDefault(endpoint, properties.getBackend()));
+    }
+}
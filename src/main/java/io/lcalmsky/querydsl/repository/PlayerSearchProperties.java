@@ -0,0 +1,17 @@
+package io.lcalmsky.querydsl.repository;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "player.search")
+public class PlayerSearchProperties {
+    private SearchBackend backend = SearchBackend.JPA;
+    /**
+     * Overrides per endpoint, keyed by API version such as {@code v3}.
+     */
+    private Map<String, SearchBackend> endpointBackends = new HashMap<>();
+}
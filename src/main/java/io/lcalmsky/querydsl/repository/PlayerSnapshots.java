@@ -0,0 +1,121 @@
+package io.lcalmsky.querydsl.repository;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.lcalmsky.querydsl.event.PlayerChange;
+import io.lcalmsky.querydsl.event.PlayerChangePublisher;
+import io.lcalmsky.querydsl.event.PlayerSnapshot;
+import io.lcalmsky.querydsl.event.TeamDeltas;
+
+import javax.persistence.LockModeType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static io.lcalmsky.querydsl.domain.QPlayer.player;
+
+/**
+ * Reads the rows a bulk statement is about to touch so small statements can publish the same per-row
+ * {@link PlayerChange}s Hibernate would have. The rows are read {@code FOR UPDATE}, so no other transaction can
+ * change them between the snapshot and the statement. Statements touching more than
+ * {@code player.events.max-snapshot-rows} rows lock only the ids and publish a bulk change carrying the
+ * {@link TeamDeltas} of those rows, counted with grouped queries before and after the statement.
+ */
+final class PlayerSnapshots {
+    private static final int IN_LIST_SIZE = 1000;
+
+    private final JPAQueryFactory queryFactory;
+    private final List<PlayerSnapshot> before;
+    private final List<Long> ids;
+    private final TeamDeltas teamDeltas;
+
+    private PlayerSnapshots(JPAQueryFactory queryFactory, List<PlayerSnapshot> before, List<Long> ids, TeamDeltas teamDeltas) {
+        this.queryFactory = queryFactory;
+        this.before = before;
+        this.ids = ids;
+        this.teamDeltas = teamDeltas;
+    }
+
+    /**
+     * Locks the matching rows, keeping their snapshots when at most {@code limit} rows match.
+     */
+    static PlayerSnapshots lock(JPAQueryFactory queryFactory, int limit, Predicate... where) {
+        List<PlayerSnapshot> snapshots = fetch(queryFactory, LockModeType.PESSIMISTIC_WRITE, limit + 1, where);
+        if (snapshots.size() <= limit) {
+            return new PlayerSnapshots(queryFactory, snapshots, null, null);
+        }
+        List<Long> ids = queryFactory.select(player.id)
+                .from(player)
+                .where(where)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetch();
+        TeamDeltas teamDeltas = new TeamDeltas();
+        count(queryFactory, ids, -1, teamDeltas);
+        return new PlayerSnapshots(queryFactory, null, ids, teamDeltas);
+    }
+
+    void publishUpdated(PlayerChangePublisher changePublisher) {
+        if (before == null) {
+            count(queryFactory, ids, 1, teamDeltas);
+            changePublisher.publishBulk(teamDeltas);
+            return;
+        }
+        if (before.isEmpty()) {
+            return;
+        }
+        Map<Long, PlayerSnapshot> after = fetch(queryFactory, LockModeType.NONE, before.size(), player.id.in(ids(before))).stream()
+                .collect(Collectors.toMap(PlayerSnapshot::getId, Function.identity()));
+        for (PlayerSnapshot snapshot : before) {
+            PlayerSnapshot updated = after.get(snapshot.getId());
+            changePublisher.publish(updated == null ? PlayerChange.deleted(snapshot) : PlayerChange.updated(snapshot, updated));
+        }
+    }
+
+    void publishDeleted(PlayerChangePublisher changePublisher) {
+        if (before == null) {
+            changePublisher.publishBulk(teamDeltas);
+            return;
+        }
+        before.forEach(snapshot -> changePublisher.publish(PlayerChange.deleted(snapshot)));
+    }
+
+    private static List<PlayerSnapshot> fetch(JPAQueryFactory queryFactory, LockModeType lockMode, int limit, Predicate... where) {
+        return queryFactory.select(player.id, player.name, player.age, player.team.id, player.inSeason, player.weeklySalary)
+                .from(player)
+                .where(where)
+                .limit(limit)
+                .setLockMode(lockMode)
+                .fetch()
+                .stream()
+                .map(row -> PlayerSnapshot.of(row.get(player.id), row.get(player.name), row.get(player.age),
+                        row.get(player.team.id), row.get(player.inSeason), row.get(player.weeklySalary)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Adds the rows with the given ids, grouped by team, age and salary, to the deltas with the given sign. The rows
+     * are found by id rather than by the statement's predicate, which the statement may no longer match afterwards.
+     */
+    private static void count(JPAQueryFactory queryFactory, List<Long> ids, int sign, TeamDeltas teamDeltas) {
+        NumberExpression<Long> count = player.count();
+        for (int from = 0; from < ids.size(); from += IN_LIST_SIZE) {
+            queryFactory.select(player.team.id, player.age, player.weeklySalary, count)
+                    .from(player)
+                    .where(player.id.in(ids.subList(from, Math.min(from + IN_LIST_SIZE, ids.size()))))
+                    .groupBy(player.team.id, player.age, player.weeklySalary)
+                    .fetch()
+                    .forEach(row -> teamDeltas.add(row.get(player.team.id), Objects.requireNonNull(row.get(player.age)),
+                            row.get(player.weeklySalary), sign * Objects.requireNonNull(row.get(count))));
+        }
+    }
+
+    private static List<Long> ids(List<PlayerSnapshot> snapshots) {
+        List<Long> ids = new ArrayList<>(snapshots.size());
+        snapshots.forEach(snapshot -> ids.add(snapshot.getId()));
+        return ids;
+    }
+}
@@ -0,0 +1,37 @@
+package io.lcalmsky.querydsl.repository;
+
+import io.lcalmsky.querydsl.domain.param.InvalidQueryParamException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Properties the player search can be sorted by, each backed by a {@code (column, player_id)} index. Every search
+ * backend maps them to paths of its own, see {@link PlayerSortRegistry}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum PlayerSortKey {
+    NAME("name"),
+    AGE("age"),
+    WEEKLY_SALARY("weeklySalary"),
+    TEAM_NAME("team.name");
+
+    private static final Map<String, PlayerSortKey> BY_PROPERTY = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(PlayerSortKey::getProperty, Function.identity()));
+
+    private final String property;
+
+    public static PlayerSortKey of(String property) {
+        PlayerSortKey sortKey = BY_PROPERTY.get(property);
+        if (sortKey == null) {
+            throw new InvalidQueryParamException(String.format("unsupported sort property: %s, supported: %s",
+                    property, BY_PROPERTY.keySet().stream().sorted().collect(Collectors.joining(", "))));
+        }
+        return sortKey;
+    }
+}
@@ -0,0 +1,59 @@
+package io.lcalmsky.querydsl.repository;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import org.springframework.data.domain.Sort;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static io.lcalmsky.querydsl.domain.QPlayer.player;
+import static io.lcalmsky.querydsl.domain.QTeam.team;
+
+/**
+ * The {@link PlayerSortKey}s mapped to one backend's paths, with their order specifiers built once. Every sort ends
+ * with the player id in the direction of the first order, which matches the {@code (column, player_id)} indexes
+ * and keeps pages stable across equal values. Unsorted requests get no {@code order by} at all, the same as the
+ * searches that don't page.
+ */
+public final class PlayerSortRegistry {
+    static final PlayerSortRegistry JPA = new PlayerSortRegistry(Map.of(
+            PlayerSortKey.NAME, player.name,
+            PlayerSortKey.AGE, player.age,
+            PlayerSortKey.WEEKLY_SALARY, player.weeklySalary,
+            PlayerSortKey.TEAM_NAME, team.name), player.id);
+
+    private final Map<PlayerSortKey, OrderSpecifier<?>> asc = new EnumMap<>(PlayerSortKey.class);
+    private final Map<PlayerSortKey, OrderSpecifier<?>> desc = new EnumMap<>(PlayerSortKey.class);
+    private final OrderSpecifier<?> idAsc;
+    private final OrderSpecifier<?> idDesc;
+
+    public PlayerSortRegistry(Map<PlayerSortKey, ComparableExpressionBase<?>> paths, ComparableExpressionBase<?> id) {
+        EnumSet<PlayerSortKey> missing = EnumSet.allOf(PlayerSortKey.class);
+        missing.removeAll(paths.keySet());
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("no paths for sort keys: " + missing);
+        }
+        paths.forEach((sortKey, path) -> {
+            asc.put(sortKey, path.asc());
+            desc.put(sortKey, path.desc());
+        });
+        this.idAsc = id.asc();
+        this.idDesc = id.desc();
+    }
+
+    public OrderSpecifier<?>[] orderBy(Sort sort) {
+        Sort.Order first = sort.stream().findFirst().orElse(null);
+        if (first == null) {
+            return new OrderSpecifier[0];
+        }
+        return Stream.concat(sort.stream().map(this::orderSpecifier), Stream.of(first.isAscending() ? idAsc : idDesc))
+                .toArray(OrderSpecifier[]::new);
+    }
+
+    private OrderSpecifier<?> orderSpecifier(Sort.Order order) {
+        return (order.isAscending() ? asc : desc).get(PlayerSortKey.of(order.getProperty()));
+    }
+}
@@ -0,0 +1,5 @@
+package io.lcalmsky.querydsl.repository;
+
+public enum SearchBackend {
+    JPA, MEMORY, SQL
+}
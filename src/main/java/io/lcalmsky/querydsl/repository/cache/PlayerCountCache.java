@@ -0,0 +1,82 @@
+package io.lcalmsky.querydsl.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lcalmsky.querydsl.datasource.RoutingDataSourceProperties;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryKey;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.event.PlayerChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Count totals by filter, dropped as a whole after any committed player write. With replica routing enabled every
+ * count is run as is: a read-only count right after an invalidation may be answered by a replica that has not caught
+ * up yet, and caching it, or loading the approximate counters from it, would keep the old total after the replica did.
+ */
+@Component
+public class PlayerCountCache implements MeterBinder {
+    private final PlayerCountProperties properties;
+    private final PlayerCounters playerCounters;
+    private final RoutingDataSourceProperties routingDataSourceProperties;
+    private final Cache<PlayerQueryKey, Long> counts;
+    private final AtomicLong generation = new AtomicLong();
+
+    public PlayerCountCache(PlayerCountProperties properties, PlayerCounters playerCounters,
+                            RoutingDataSourceProperties routingDataSourceProperties) {
+        this.properties = properties;
+        this.playerCounters = playerCounters;
+        this.routingDataSourceProperties = routingDataSourceProperties;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+    }
+
+    public long count(PlayerQueryParam playerQueryParam, LongSupplier countQuery) {
+        if (routingDataSourceProperties.isEnabled()) {
+            return countQuery.getAsLong();
+        }
+        PlayerQueryKey key = PlayerQueryKey.from(playerQueryParam);
+        if (properties.isApproximate() && key.isTeamOnly()) {
+            return playerCounters.count(key.getTeamName());
+        }
+        if (inReadWriteTransaction()) {
+            return countQuery.getAsLong();
+        }
+        Long cached = counts.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long current = generation.get();
+        long count = countQuery.getAsLong();
+        if (generation.get() == current) {
+            counts.put(key, count);
+        }
+        return count;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayerChanged(PlayerChangedEvent event) {
+        generation.incrementAndGet();
+        counts.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, counts, "player.count");
+    }
+
+    private boolean inReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
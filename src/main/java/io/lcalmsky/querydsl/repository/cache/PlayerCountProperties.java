@@ -0,0 +1,14 @@
+package io.lcalmsky.querydsl.repository.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "player.count")
+public class PlayerCountProperties {
+    private Duration ttl = Duration.ofSeconds(30);
+    private long maximumSize = 10_000;
+    private boolean approximate = false;
+}
@@ -0,0 +1,127 @@
+package io.lcalmsky.querydsl.repository.cache;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.lcalmsky.querydsl.event.PlayerChange;
+import io.lcalmsky.querydsl.event.PlayerChangedEvent;
+import io.lcalmsky.querydsl.event.PlayerSnapshot;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.persistence.EntityManager;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.lcalmsky.querydsl.domain.QPlayer.player;
+import static io.lcalmsky.querydsl.domain.QTeam.team;
+
+/**
+ * Player totals per team maintained from write events, used to answer unfiltered and team-only counts
+ * without running {@code count(*)}. Counts are approximate while writes race with the initial load;
+ * bulk changes force a reload on the next read.
+ */
+@Component
+public class PlayerCounters {
+    private final JPAQueryFactory queryFactory;
+    private final Map<Long, LongAdder> playersByTeamId = new ConcurrentHashMap<>();
+    private final Map<Long, String> teamNames = new ConcurrentHashMap<>();
+    private final AtomicLong total = new AtomicLong();
+    private volatile boolean loaded;
+
+    public PlayerCounters(EntityManager entityManager) {
+        this.queryFactory = new JPAQueryFactory(entityManager);
+    }
+
+    public long count(String teamName) {
+        if (!loaded) {
+            load();
+        }
+        if (teamName == null) {
+            return total.get();
+        }
+        return teamNames.entrySet().stream()
+                .filter(entry -> teamName.equals(entry.getValue()))
+                .map(entry -> playersByTeamId.get(entry.getKey()))
+                .filter(Objects::nonNull)
+                .mapToLong(LongAdder::sum)
+                .sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayerChanged(PlayerChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        if (event.isBulk()) {
+            loaded = false;
+            return;
+        }
+        event.getChanges().forEach(this::apply);
+    }
+
+    private void apply(PlayerChange change) {
+        switch (change.getType()) {
+            case INSERT:
+                add(change.getAfter(), 1);
+                break;
+            case DELETE:
+                add(change.getBefore(), -1);
+                break;
+            default:
+                if (change.getBefore() == null) {
+                    loaded = false;
+                } else if (!Objects.equals(change.getBefore().getTeamId(), change.getAfter().getTeamId())) {
+                    add(change.getBefore(), -1);
+                    add(change.getAfter(), 1);
+                }
+        }
+    }
+
+    private void add(PlayerSnapshot snapshot, int delta) {
+        total.addAndGet(delta);
+        if (snapshot.getTeamId() == null) {
+            return;
+        }
+        if (!teamNames.containsKey(snapshot.getTeamId())) {
+            String name = queryFactory.select(team.name)
+                    .from(team)
+                    .where(team.id.eq(snapshot.getTeamId()))
+                    .fetchOne();
+            if (name != null) {
+                teamNames.put(snapshot.getTeamId(), name);
+            }
+        }
+        playersByTeamId.computeIfAbsent(snapshot.getTeamId(), id -> new LongAdder()).add(delta);
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        playersByTeamId.clear();
+        teamNames.clear();
+        queryFactory.select(team.id, team.name)
+                .from(team)
+                .fetch()
+                .forEach(row -> teamNames.put(row.get(team.id), row.get(team.name)));
+        NumberExpression<Long> count = player.count();
+        long sum = 0;
+        for (Tuple row : queryFactory.select(player.team.id, count)
+                .from(player)
+                .groupBy(player.team.id)
+                .fetch()) {
+            long players = Objects.requireNonNull(row.get(count));
+            sum += players;
+            Long teamId = row.get(player.team.id);
+            if (teamId != null) {
+                playersByTeamId.computeIfAbsent(teamId, id -> new LongAdder()).add(players);
+            }
+        }
+        total.set(sum);
+        loaded = true;
+    }
+}
@@ -0,0 +1,94 @@
+package io.lcalmsky.querydsl.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lcalmsky.querydsl.datasource.RoutingDataSourceProperties;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryKey;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.event.PlayerChangedEvent;
+import io.lcalmsky.querydsl.event.TeamChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Search results by projection type and filter, dropped as a whole after any committed player or team write.
+ * Read-write transactions bypass the cache so they always see their own uncommitted changes. So does everything
+ * with replica routing enabled: a read-only search right after an invalidation may be answered by a replica that has
+ * not caught up yet, and caching it would keep the old result for the whole TTL.
+ */
+@Component
+public class PlayerSearchCache implements MeterBinder {
+    private final PlayerSearchCacheProperties properties;
+    private final RoutingDataSourceProperties routingDataSourceProperties;
+    private final Cache<SearchKey, List<?>> results;
+    private final AtomicLong generation = new AtomicLong();
+
+    public PlayerSearchCache(PlayerSearchCacheProperties properties, RoutingDataSourceProperties routingDataSourceProperties) {
+        this.properties = properties;
+        this.routingDataSourceProperties = routingDataSourceProperties;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(Class<T> type, PlayerQueryParam playerQueryParam, Supplier<List<T>> query) {
+        if (!properties.isEnabled() || routingDataSourceProperties.isEnabled() || inReadWriteTransaction()) {
+            return query.get();
+        }
+        SearchKey key = SearchKey.of(type, PlayerQueryKey.from(playerQueryParam));
+        List<T> cached = (List<T>) results.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long current = generation.get();
+        List<T> result = List.copyOf(query.get());
+        if (generation.get() == current) {
+            results.put(key, result);
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayerChanged(PlayerChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        // cached rows carry the team name
+        invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, results, "player.search");
+    }
+
+    private void invalidateAll() {
+        generation.incrementAndGet();
+        results.invalidateAll();
+    }
+
+    private boolean inReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    @Data(staticConstructor = "of")
+    private static class SearchKey {
+        private final Class<?> type;
+        private final PlayerQueryKey query;
+    }
+}
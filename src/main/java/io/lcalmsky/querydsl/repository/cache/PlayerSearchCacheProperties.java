@@ -0,0 +1,14 @@
+package io.lcalmsky.querydsl.repository.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "player.search-cache")
+public class PlayerSearchCacheProperties {
+    private boolean enabled = true;
+    private long maximumSize = 1_000;
+    private Duration ttl = Duration.ofMinutes(1);
+}
@@ -0,0 +1,429 @@
+package io.lcalmsky.querydsl.repository.memory;
+
+import com.querydsl.core.Tuple;
+import io.lcalmsky.querydsl.domain.CursorPage;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.param.NameMatch;
+import io.lcalmsky.querydsl.domain.param.PlayerCursor;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.event.PlayerChange;
+import io.lcalmsky.querydsl.event.PlayerSnapshot;
+import io.lcalmsky.querydsl.repository.CustomPlayerRepository;
+import io.lcalmsky.querydsl.repository.EventDrivenSnapshot;
+import io.lcalmsky.querydsl.repository.PlayerSortKey;
+import io.lcalmsky.querydsl.repository.name.PlayerNameIndex;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.lcalmsky.querydsl.domain.QPlayer.player;
+import static io.lcalmsky.querydsl.domain.QTeam.team;
+
+/**
+ * Committed player data held column by column in primitive arrays, with names and teams dictionary-encoded and a
+ * bitmap per team and per age, answering searches without touching the database. Kept current from write events
+ * as an {@link EventDrivenSnapshot}; bulk changes trigger a reload. Rows of deleted players are compacted away once
+ * they make up a quarter of the arrays.
+ */
+@Component
+public class InMemoryPlayerRepository extends EventDrivenSnapshot implements CustomPlayerRepository {
+    private static final int LOAD_FETCH_SIZE = 10_000;
+    private static final int NO_TEAM = -1;
+    private static final int MIN_DEAD_ROWS_TO_COMPACT = 1024;
+
+    private final PlayerNameIndex playerNameIndex;
+    private final Map<PlayerSortKey, Comparator<Integer>> ascending;
+
+    private long[] ids = new long[0];
+    private int[] nameCodes = new int[0];
+    private int[] ages = new int[0];
+    private int[] weeklySalaries = new int[0];
+    private int[] teamCodes = new int[0];
+    private int size;
+    private long layoutVersion;
+    private final BitSet inSeason = new BitSet();
+    private final BitSet missingSalaries = new BitSet();
+    private final BitSet live = new BitSet();
+    private final Map<Long, Integer> rowsById = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameCodesByName = new HashMap<>();
+    private final List<String> teamNames = new ArrayList<>();
+    private final Map<Long, Integer> teamCodesById = new HashMap<>();
+    private final Map<String, BitSet> rowsByTeamName = new HashMap<>();
+    private final Map<Integer, BitSet> rowsByAge = new HashMap<>();
+
+    public InMemoryPlayerRepository(EntityManager entityManager, PlatformTransactionManager transactionManager, PlayerNameIndex playerNameIndex) {
+        super(entityManager, transactionManager);
+        this.playerNameIndex = playerNameIndex;
+        this.ascending = Map.of(
+                PlayerSortKey.NAME, Comparator.comparing(row -> names.get(nameCodes[row])),
+                PlayerSortKey.AGE, Comparator.comparingInt(row -> ages[row]),
+                PlayerSortKey.WEEKLY_SALARY, Comparator.comparing(this::weeklySalary, Comparator.nullsFirst(Comparator.naturalOrder())),
+                PlayerSortKey.TEAM_NAME, Comparator.comparing(this::teamName, Comparator.nullsFirst(Comparator.naturalOrder())));
+    }
+
+    @Override
+    public List<PlayerDetails> findPlayerTeamBy(PlayerQueryParam playerQueryParam) {
+        return read(() -> matches(playerQueryParam).stream()
+                .mapToObj(this::playerDetails)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Walks the matching rows lazily, reading each under the read lock, rather than building the whole result
+     * first. Rows of players deleted since are skipped. A reload or compaction renumbers the rows, so it fails the
+     * stream with a {@link ConcurrentModificationException}.
+     */
+    @Override
+    public Stream<PlayerDetails> streamPlayerTeamBy(PlayerQueryParam playerQueryParam) {
+        long[] layout = new long[1];
+        BitSet matches = read(() -> {
+            layout[0] = layoutVersion;
+            return matches(playerQueryParam);
+        });
+        return matches.stream()
+                .mapToObj(row -> read(() -> {
+                    if (layoutVersion != layout[0]) {
+                        throw new ConcurrentModificationException("players were reloaded or compacted while streaming");
+                    }
+                    return live.get(row) ? playerDetails(row) : null;
+                }))
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public Page<PlayerDetails> findPlayerTeamPageBy(PlayerQueryParam playerQueryParam, Pageable pageable) {
+        return findPlayerTeamCountPageBy(playerQueryParam, pageable);
+    }
+
+    @Override
+    public Page<PlayerDetails> findPlayerTeamCountPageBy(PlayerQueryParam playerQueryParam, Pageable pageable) {
+        Comparator<Integer> comparator = comparator(pageable.getSort());
+        return read(() -> {
+            BitSet matches = matches(playerQueryParam);
+            List<Integer> rows = pageable.isPaged()
+                    ? top(matches, row -> true, comparator, (int) Math.min(pageable.getOffset() + pageable.getPageSize(), matches.cardinality()))
+                    : top(matches, row -> true, comparator, matches.cardinality());
+            List<PlayerDetails> content = rows.stream()
+                    .skip(pageable.isPaged() ? pageable.getOffset() : 0)
+                    .map(this::playerDetails)
+                    .collect(Collectors.toList());
+            return new PageImpl<>(content, pageable, matches.cardinality());
+        });
+    }
+
+    @Override
+    public CursorPage<PlayerDetails> findPlayerTeamCursorBy(PlayerQueryParam playerQueryParam, String cursor, int size) {
+        PlayerCursor after = PlayerCursor.decode(cursor);
+        Comparator<Integer> comparator = comparator(Sort.by("weeklySalary"));
+        IntPredicate afterCursor;
+        if (after == null) {
+            afterCursor = row -> true;
+        } else if (after.getWeeklySalary() == null) {
+            afterCursor = row -> !missingSalaries.get(row) || ids[row] > after.getId();
+        } else {
+            int weeklySalary = after.getWeeklySalary();
+            afterCursor = row -> !missingSalaries.get(row) && (weeklySalaries[row] > weeklySalary
+                    || weeklySalaries[row] == weeklySalary && ids[row] > after.getId());
+        }
+        return read(() -> {
+            List<Integer> rows = top(matches(playerQueryParam), afterCursor, comparator, size + 1);
+            List<Integer> content = rows.size() > size ? rows.subList(0, size) : rows;
+            String nextCursor = null;
+            if (rows.size() > size) {
+                int last = content.get(content.size() - 1);
+                nextCursor = PlayerCursor.of(weeklySalary(last), ids[last]).encode();
+            }
+            return CursorPage.of(content.stream()
+                    .map(this::playerDetails)
+                    .collect(Collectors.toList()), nextCursor);
+        });
+    }
+
+    @Override
+    protected void apply(PlayerChange change) {
+        switch (change.getType()) {
+            case INSERT:
+                if (!upsert(change.getAfter())) {
+                    invalidate();
+                }
+                break;
+            case DELETE:
+                remove(change.getBefore().getId());
+                break;
+            default:
+                if (change.getAfter() == null || !upsert(change.getAfter())) {
+                    invalidate();
+                }
+        }
+    }
+
+    @Override
+    protected void afterChanges() {
+        if (size - rowsById.size() > Math.max(MIN_DEAD_ROWS_TO_COMPACT, size / 4)) {
+            compact();
+        }
+    }
+
+    private BitSet matches(PlayerQueryParam playerQueryParam) {
+        BitSet matches = (BitSet) live.clone();
+        if (playerQueryParam.getTeamName() != null) {
+            BitSet teams = new BitSet();
+            rowsByTeamName.forEach((teamName, rows) -> {
+                if (playerQueryParam.getTeamNameMatch().test(teamName, playerQueryParam.getTeamName())) {
+                    teams.or(rows);
+                }
+            });
+            matches.and(teams);
+        }
+        if (playerQueryParam.getAge() != null) {
+            matches.and(rowsByAge.getOrDefault(playerQueryParam.getAge(), new BitSet()));
+        }
+        if (playerQueryParam.getName() != null) {
+            BitSet codes = nameCodes(playerQueryParam.getName(), playerQueryParam.getNameMatch());
+            for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+                if (!codes.get(nameCodes[row])) {
+                    matches.clear(row);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private BitSet nameCodes(String value, NameMatch match) {
+        BitSet codes = new BitSet();
+        boolean scan = PlayerNameIndex.isShortContains(value, match);
+        List<String> matchingNames = match == NameMatch.EXACT || scan
+                ? List.of(value)
+                : playerNameIndex.findPlayerNames(value, match, PlayerNameIndex.MAX_RESOLVED_NAMES + 1);
+        if (scan || matchingNames.size() > PlayerNameIndex.MAX_RESOLVED_NAMES) {
+            for (int code = 0; code < names.size(); code++) {
+                codes.set(code, match.test(names.get(code), value));
+            }
+            return codes;
+        }
+        matchingNames.stream()
+                .map(nameCodesByName::get)
+                .filter(Objects::nonNull)
+                .forEach(codes::set);
+        return codes;
+    }
+
+    /**
+     * The first {@code limit} rows in comparator order, kept in a bounded heap so a page doesn't sort every match.
+     */
+    private List<Integer> top(BitSet matches, IntPredicate filter, Comparator<Integer> comparator, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.min(limit, 1024) + 1, comparator.reversed());
+        for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+            if (!filter.test(row)) {
+                continue;
+            }
+            heap.add(row);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        Integer[] rows = heap.toArray(new Integer[0]);
+        Arrays.sort(rows, comparator);
+        return Arrays.asList(rows);
+    }
+
+    private Comparator<Integer> comparator(Sort sort) {
+        Comparator<Integer> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Integer> next = ascending.get(PlayerSortKey.of(order.getProperty()));
+            next = order.isAscending() ? next : next.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Sort.Order first = sort.stream().findFirst().orElse(null);
+        Comparator<Integer> tiebreaker = Comparator.comparingLong(row -> ids[row]);
+        tiebreaker = first == null || first.isAscending() ? tiebreaker : tiebreaker.reversed();
+        return comparator == null ? tiebreaker : comparator.thenComparing(tiebreaker);
+    }
+
+    private PlayerDetails playerDetails(int row) {
+        return new PlayerDetails(names.get(nameCodes[row]), ages[row], inSeason.get(row), weeklySalary(row), teamName(row));
+    }
+
+    private Integer weeklySalary(int row) {
+        return missingSalaries.get(row) ? null : weeklySalaries[row];
+    }
+
+    private String teamName(int row) {
+        return teamCodes[row] == NO_TEAM ? null : teamNames.get(teamCodes[row]);
+    }
+
+    @Override
+    protected void reload() {
+        clear();
+        queryFactory.select(team.id, team.name)
+                .from(team)
+                .fetch()
+                .forEach(row -> addTeam(row.get(team.id), row.get(team.name)));
+        // players of teams created after the team query
+        List<PlayerSnapshot> pending = new ArrayList<>();
+        try (Stream<Tuple> rows = queryFactory
+                .select(player.id, player.name, player.age, player.team.id, player.inSeason, player.weeklySalary)
+                .from(player)
+                .orderBy(player.id.asc())
+                .setHint(QueryHints.FETCH_SIZE, LOAD_FETCH_SIZE)
+                .stream()) {
+            rows.forEach(row -> {
+                PlayerSnapshot snapshot = PlayerSnapshot.of(row.get(player.id), row.get(player.name), row.get(player.age),
+                        row.get(player.team.id), row.get(player.inSeason), row.get(player.weeklySalary));
+                if (!upsert(snapshot)) {
+                    pending.add(snapshot);
+                }
+            });
+        }
+        queryTeamNames(pending.stream().map(PlayerSnapshot::getTeamId).collect(Collectors.toSet())).forEach(this::addTeam);
+        pending.forEach(this::upsert);
+    }
+
+    @Override
+    protected boolean isKnownTeam(Long teamId) {
+        return teamCodesById.containsKey(teamId);
+    }
+
+    private void clear() {
+        layoutVersion++;
+        size = 0;
+        inSeason.clear();
+        missingSalaries.clear();
+        live.clear();
+        rowsById.clear();
+        names.clear();
+        nameCodesByName.clear();
+        teamNames.clear();
+        teamCodesById.clear();
+        rowsByTeamName.clear();
+        rowsByAge.clear();
+    }
+
+    @Override
+    protected void addTeam(Long id, String name) {
+        teamCodesById.put(id, teamNames.size());
+        teamNames.add(name);
+    }
+
+    /**
+     * Returns {@code false} without touching the row when its team isn't known yet.
+     */
+    private boolean upsert(PlayerSnapshot snapshot) {
+        if (snapshot.getTeamId() != null && !teamCodesById.containsKey(snapshot.getTeamId())) {
+            return false;
+        }
+        Integer existing = rowsById.get(snapshot.getId());
+        int row;
+        if (existing == null) {
+            row = size++;
+            ensureCapacity(size);
+            rowsById.put(snapshot.getId(), row);
+        } else {
+            row = existing;
+            unindex(row);
+        }
+        ids[row] = snapshot.getId();
+        nameCodes[row] = nameCodesByName.computeIfAbsent(snapshot.getName(), name -> {
+            names.add(name);
+            return names.size() - 1;
+        });
+        ages[row] = snapshot.getAge();
+        weeklySalaries[row] = snapshot.getWeeklySalary() == null ? 0 : snapshot.getWeeklySalary();
+        missingSalaries.set(row, snapshot.getWeeklySalary() == null);
+        inSeason.set(row, Boolean.TRUE.equals(snapshot.getInSeason()));
+        teamCodes[row] = snapshot.getTeamId() == null ? NO_TEAM : teamCodesById.get(snapshot.getTeamId());
+        live.set(row);
+        index(row);
+        return true;
+    }
+
+    private void remove(Long id) {
+        Integer row = rowsById.remove(id);
+        if (row != null) {
+            unindex(row);
+            live.clear(row);
+        }
+    }
+
+    /**
+     * Moves the live rows down over the rows of deleted players, keeping their order, and rebuilds the bitmaps.
+     */
+    private void compact() {
+        layoutVersion++;
+        int target = 0;
+        for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1), target++) {
+            ids[target] = ids[row];
+            nameCodes[target] = nameCodes[row];
+            ages[target] = ages[row];
+            weeklySalaries[target] = weeklySalaries[row];
+            teamCodes[target] = teamCodes[row];
+            inSeason.set(target, inSeason.get(row));
+            missingSalaries.set(target, missingSalaries.get(row));
+            rowsById.put(ids[target], target);
+        }
+        size = target;
+        inSeason.clear(size, Math.max(size, inSeason.length()));
+        missingSalaries.clear(size, Math.max(size, missingSalaries.length()));
+        live.clear();
+        live.set(0, size);
+        rowsByAge.clear();
+        rowsByTeamName.clear();
+        for (int row = 0; row < size; row++) {
+            index(row);
+        }
+    }
+
+    private void index(int row) {
+        rowsByAge.computeIfAbsent(ages[row], age -> new BitSet()).set(row);
+        String teamName = teamName(row);
+        if (teamName != null) {
+            rowsByTeamName.computeIfAbsent(teamName, name -> new BitSet()).set(row);
+        }
+    }
+
+    private void unindex(int row) {
+        BitSet byAge = rowsByAge.get(ages[row]);
+        if (byAge != null) {
+            byAge.clear(row);
+        }
+        String teamName = teamName(row);
+        if (teamName != null) {
+            rowsByTeamName.get(teamName).clear(row);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int length = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, length);
+        nameCodes = Arrays.copyOf(nameCodes, length);
+        ages = Arrays.copyOf(ages, length);
+        weeklySalaries = Arrays.copyOf(weeklySalaries, length);
+        teamCodes = Arrays.copyOf(teamCodes, length);
+    }
+}
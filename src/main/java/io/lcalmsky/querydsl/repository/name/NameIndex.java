@@ -0,0 +1,133 @@
+package io.lcalmsky.querydsl.repository.name;
+
+import io.lcalmsky.querydsl.domain.param.InvalidQueryParamException;
+import io.lcalmsky.querydsl.domain.param.NameMatch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Distinct names ordered by their lower-case form for prefix lookups, plus a sorted trigram posting list per
+ * lower-case form for substring lookups. Both are walked in order and stop once {@code limit} names are found.
+ * Substring lookups need at least one trigram. Names are reference counted so one player leaving doesn't drop a
+ * name others still use. Not thread-safe.
+ */
+class NameIndex {
+    static final int GRAM = 3;
+
+    private final Map<String, Integer> counts = new HashMap<>();
+    private final NavigableMap<String, Set<String>> namesByKey = new TreeMap<>();
+    private final Map<String, NavigableSet<String>> keysByGram = new HashMap<>();
+
+    void add(String name, long count) {
+        if (name == null || counts.merge(name, (int) count, Integer::sum) > count) {
+            return;
+        }
+        String key = NameMatch.normalize(name);
+        Set<String> names = namesByKey.computeIfAbsent(key, k -> new TreeSet<>());
+        if (names.isEmpty()) {
+            grams(key).forEach(gram -> keysByGram.computeIfAbsent(gram, g -> new TreeSet<>()).add(key));
+        }
+        names.add(name);
+    }
+
+    void remove(String name) {
+        if (name == null || !counts.containsKey(name)) {
+            return;
+        }
+        if (counts.merge(name, -1, Integer::sum) > 0) {
+            return;
+        }
+        counts.remove(name);
+        String key = NameMatch.normalize(name);
+        Set<String> names = namesByKey.get(key);
+        names.remove(name);
+        if (names.isEmpty()) {
+            namesByKey.remove(key);
+            grams(key).forEach(gram -> {
+                Set<String> keys = keysByGram.get(gram);
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByGram.remove(gram);
+                }
+            });
+        }
+    }
+
+    void clear() {
+        counts.clear();
+        namesByKey.clear();
+        keysByGram.clear();
+    }
+
+    /**
+     * Up to {@code limit} matching names, in lower-case order.
+     *
+     * @throws InvalidQueryParamException for a contains match shorter than {@value #GRAM} characters
+     */
+    List<String> find(String value, NameMatch match, int limit) {
+        switch (match) {
+            case EXACT:
+                return counts.containsKey(value) ? List.of(value) : List.of();
+            case PREFIX:
+                String prefix = NameMatch.normalize(value);
+                return names(namesByKey.subMap(prefix, true, prefix + Character.MAX_VALUE, false).keySet(), limit);
+            default:
+                return names(contains(NameMatch.normalize(value)), limit);
+        }
+    }
+
+    /**
+     * Keys of the smallest posting list that are in every other one and contain the fragment, checked lazily as
+     * {@link #names(Iterable, int)} walks them.
+     */
+    private Iterable<String> contains(String fragment) {
+        if (fragment.length() < GRAM) {
+            throw new InvalidQueryParamException("contains match needs at least " + GRAM + " characters");
+        }
+        List<NavigableSet<String>> postings = new ArrayList<>();
+        for (String gram : grams(fragment)) {
+            NavigableSet<String> keys = keysByGram.get(gram);
+            if (keys == null) {
+                return List.of();
+            }
+            postings.add(keys);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+        List<NavigableSet<String>> others = postings.subList(1, postings.size());
+        return () -> postings.get(0).stream()
+                .filter(key -> others.stream().allMatch(keys -> keys.contains(key)))
+                .filter(key -> key.contains(fragment))
+                .iterator();
+    }
+
+    private List<String> names(Iterable<String> keys, int limit) {
+        List<String> names = new ArrayList<>();
+        for (String key : keys) {
+            for (String name : namesByKey.get(key)) {
+                if (names.size() == limit) {
+                    return names;
+                }
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    private static Set<String> grams(String key) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= key.length(); i++) {
+            grams.add(key.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
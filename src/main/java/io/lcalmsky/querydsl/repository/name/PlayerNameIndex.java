@@ -0,0 +1,131 @@
+package io.lcalmsky.querydsl.repository.name;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.core.types.dsl.StringExpression;
+import io.lcalmsky.querydsl.domain.param.NameMatch;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.event.PlayerChange;
+import io.lcalmsky.querydsl.repository.EventDrivenSnapshot;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static io.lcalmsky.querydsl.domain.QPlayer.player;
+import static io.lcalmsky.querydsl.domain.QTeam.team;
+
+/**
+ * Committed player and team names, indexed for prefix and substring matching, used for typeahead and to turn
+ * prefix/contains filters into an indexed {@code in} list. Kept current from write events as an
+ * {@link EventDrivenSnapshot}; read-write transactions and patterns matching too many names fall back to {@code like}.
+ */
+@Component
+public class PlayerNameIndex extends EventDrivenSnapshot {
+    public static final int MAX_RESOLVED_NAMES = 1000;
+    public static final int MIN_CONTAINS_LENGTH = NameIndex.GRAM;
+
+    private final NameIndex playerNames = new NameIndex();
+    private final NameIndex teamNames = new NameIndex();
+    private final Set<Long> teamIds = new HashSet<>();
+
+    public PlayerNameIndex(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        super(entityManager, transactionManager);
+    }
+
+    public List<String> findPlayerNames(String value, NameMatch match, int limit) {
+        return read(() -> playerNames.find(value, match, limit));
+    }
+
+    public List<String> findTeamNames(String value, NameMatch match, int limit) {
+        return read(() -> teamNames.find(value, match, limit));
+    }
+
+    public BooleanExpression playerName(StringExpression path, PlayerQueryParam playerQueryParam) {
+        return condition(path, playerQueryParam.getName(), playerQueryParam.getNameMatch(), playerNames);
+    }
+
+    public BooleanExpression teamName(StringExpression path, PlayerQueryParam playerQueryParam) {
+        return condition(path, playerQueryParam.getTeamName(), playerQueryParam.getTeamNameMatch(), teamNames);
+    }
+
+    @Override
+    protected void apply(PlayerChange change) {
+        switch (change.getType()) {
+            case INSERT:
+                playerNames.add(change.getAfter().getName(), 1);
+                break;
+            case DELETE:
+                playerNames.remove(change.getBefore().getName());
+                break;
+            default:
+                if (change.getBefore() == null) {
+                    invalidate();
+                } else if (!Objects.equals(change.getBefore().getName(), change.getAfter().getName())) {
+                    playerNames.remove(change.getBefore().getName());
+                    playerNames.add(change.getAfter().getName(), 1);
+                }
+        }
+    }
+
+    private BooleanExpression condition(StringExpression path, String value, NameMatch match, NameIndex index) {
+        if (value == null) {
+            return null;
+        }
+        if (match == NameMatch.EXACT || isShortContains(value, match) || inReadWriteTransaction()) {
+            return match.condition(path, value);
+        }
+        List<String> names = read(() -> index.find(value, match, MAX_RESOLVED_NAMES + 1));
+        if (names.size() > MAX_RESOLVED_NAMES) {
+            return match.condition(path, value);
+        }
+        return names.isEmpty() ? Expressions.FALSE.isTrue() : path.in(names);
+    }
+
+    /**
+     * Contains fragments too short for the trigram index, left to {@code like}.
+     */
+    public static boolean isShortContains(String value, NameMatch match) {
+        return match == NameMatch.CONTAINS && value.length() < MIN_CONTAINS_LENGTH;
+    }
+
+    private boolean inReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    @Override
+    protected boolean isKnownTeam(Long teamId) {
+        return teamIds.contains(teamId);
+    }
+
+    @Override
+    protected void addTeam(Long teamId, String name) {
+        if (teamIds.add(teamId)) {
+            teamNames.add(name, 1);
+        }
+    }
+
+    @Override
+    protected void reload() {
+        playerNames.clear();
+        teamNames.clear();
+        teamIds.clear();
+        NumberExpression<Long> count = player.count();
+        queryFactory.select(player.name, count)
+                .from(player)
+                .groupBy(player.name)
+                .fetch()
+                .forEach(row -> playerNames.add(row.get(player.name), Objects.requireNonNull(row.get(count))));
+        queryFactory.select(team.id, team.name)
+                .from(team)
+                .fetch()
+                .forEach(row -> addTeam(row.get(team.id), row.get(team.name)));
+    }
+}
@@ -0,0 +1,21 @@
+package io.lcalmsky.querydsl.repository.reactive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "player.reactive")
+public class ReactivePlayerProperties {
+    private int initialSize = 4;
+    /**
+     * R2DBC connections, and the threads the embedded H2 driver runs queries on.
+     */
+    private int maxSize = 16;
+    /**
+     * Rows requested from the driver at a time when streaming.
+     */
+    private int fetchSize = 256;
+    private Duration maxIdleTime = Duration.ofMinutes(30);
+}
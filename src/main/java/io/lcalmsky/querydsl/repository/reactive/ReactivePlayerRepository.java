@@ -0,0 +1,134 @@
+package io.lcalmsky.querydsl.repository.reactive;
+
+import com.querydsl.sql.SQLBindings;
+import com.querydsl.sql.SQLQuery;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.repository.sql.PlayerSqlQueries;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * The player search over R2DBC, next to the JPA repositories and against the same database. Queries are built with
+ * Querydsl SQL ({@link PlayerSqlQueries}) and run through a private connection pool; nothing here joins a Spring
+ * transaction.
+ * <p>
+ * The H2 driver wraps the embedded engine, so a query still runs on the thread that subscribes. Subscribing on a
+ * scheduler sized to the pool keeps that work off the servlet threads, which return to the container as soon as the
+ * controller hands back a {@link Flux} or {@link Mono}. Queries are built there as well, since resolving a name
+ * filter may load {@link io.lcalmsky.querydsl.repository.name.PlayerNameIndex} first; invalid parameters therefore
+ * surface as error signals.
+ */
+@Component
+public class ReactivePlayerRepository implements DisposableBean {
+    private static final String JDBC_PREFIX = "jdbc:h2:";
+
+    private final PlayerSqlQueries playerSqlQueries;
+    private final ReactivePlayerProperties properties;
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    private final Scheduler scheduler;
+
+    public ReactivePlayerRepository(PlayerSqlQueries playerSqlQueries, ReactivePlayerProperties properties, DataSourceProperties dataSourceProperties) {
+        this.playerSqlQueries = playerSqlQueries;
+        this.properties = properties;
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith(JDBC_PREFIX)) {
+            throw new IllegalStateException("reactive search supports H2 only, datasource url: " + url);
+        }
+        H2ConnectionFactory connectionFactory = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+                .url(url.substring(JDBC_PREFIX.length()))
+                .username(Objects.toString(dataSourceProperties.determineUsername(), ""))
+                .password(Objects.toString(dataSourceProperties.determinePassword(), ""))
+                .build());
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("player-reactive")
+                .initialSize(properties.getInitialSize())
+                .maxSize(properties.getMaxSize())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        this.scheduler = Schedulers.newBoundedElastic(properties.getMaxSize(), Integer.MAX_VALUE, "player-reactive");
+    }
+
+    public Flux<PlayerDetails> findPlayerTeamBy(PlayerQueryParam playerQueryParam) {
+        return select(() -> playerSqlQueries.select(playerQueryParam));
+    }
+
+    public Flux<PlayerDetails> findPlayerTeamBy(PlayerQueryParam playerQueryParam, Pageable pageable) {
+        return select(() -> playerSqlQueries.select(playerQueryParam, pageable));
+    }
+
+    /**
+     * Same paging as {@code findPlayerTeamCountPageBy} of the JPA repositories: the count query only runs when the
+     * content alone cannot tell the total.
+     */
+    public Mono<Page<PlayerDetails>> findPlayerTeamCountPageBy(PlayerQueryParam playerQueryParam, Pageable pageable) {
+        Mono<List<PlayerDetails>> content = findPlayerTeamBy(playerQueryParam, pageable).collectList();
+        Mono<Long> count = count(() -> playerSqlQueries.count(playerQueryParam));
+        return content.<Page<PlayerDetails>>flatMap(players -> {
+            if (pageable.isUnpaged()) {
+                return Mono.just(new PageImpl<>(players));
+            }
+            if (players.size() < pageable.getPageSize() && (pageable.getOffset() == 0 || !players.isEmpty())) {
+                return Mono.just(new PageImpl<>(players, pageable, pageable.getOffset() + players.size()));
+            }
+            return count.map(total -> new PageImpl<>(players, pageable, total));
+        });
+    }
+
+    private Flux<PlayerDetails> select(Supplier<SQLQuery<PlayerDetails>> query) {
+        return Mono.fromCallable(() -> query.get().getSQL())
+                .flatMapMany(sqlBindings -> bind(sqlBindings)
+                        .map(this::playerDetails)
+                        .all())
+                .limitRate(properties.getFetchSize())
+                .subscribeOn(scheduler);
+    }
+
+    private Mono<Long> count(Supplier<SQLQuery<Long>> query) {
+        return Mono.fromCallable(() -> query.get().getSQL())
+                .flatMap(sqlBindings -> bind(sqlBindings)
+                        .map(row -> row.get(0, Long.class))
+                        .one())
+                .subscribeOn(scheduler);
+    }
+
+    private DatabaseClient.GenericExecuteSpec bind(SQLBindings sqlBindings) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sqlBindings.getSQL());
+        List<Object> bindings = sqlBindings.getNullFriendlyBindings();
+        for (int i = 0; i < bindings.size(); i++) {
+            spec = spec.bind(i, bindings.get(i));
+        }
+        return spec;
+    }
+
+    private PlayerDetails playerDetails(Row row) {
+        return new PlayerDetails(row.get(0, String.class), row.get(1, Integer.class), row.get(2, Boolean.class),
+                row.get(3, Integer.class), row.get(4, String.class));
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,88 @@
+package io.lcalmsky.querydsl.repository.sql;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.H2Templates;
+import com.querydsl.sql.SQLQuery;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.QPlayerDetails;
+import io.lcalmsky.querydsl.domain.param.PlayerCursor;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.repository.PlayerSortKey;
+import io.lcalmsky.querydsl.repository.PlayerSortRegistry;
+import io.lcalmsky.querydsl.repository.name.PlayerNameIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static io.lcalmsky.querydsl.repository.PlayerQuerySupport.after;
+import static io.lcalmsky.querydsl.repository.sql.SPlayer.player;
+import static io.lcalmsky.querydsl.repository.sql.STeam.team;
+
+/**
+ * The player search as detached Querydsl SQL queries, with the same filters, joins and sorting as the JPA search.
+ * Callers either render them with {@link SQLQuery#getSQL()} for a driver of their own or attach a connection.
+ */
+@Component
+@RequiredArgsConstructor
+public class PlayerSqlQueries {
+    public static final Configuration CONFIGURATION = new Configuration(H2Templates.builder().build());
+    private static final PlayerSortRegistry SORT_REGISTRY = new PlayerSortRegistry(Map.of(
+            PlayerSortKey.NAME, player.name,
+            PlayerSortKey.AGE, player.age,
+            PlayerSortKey.WEEKLY_SALARY, player.weeklySalary,
+            PlayerSortKey.TEAM_NAME, team.name), player.playerId);
+
+    private final PlayerNameIndex playerNameIndex;
+
+    public SQLQuery<PlayerDetails> select(PlayerQueryParam playerQueryParam) {
+        return where(new SQLQuery<Void>(CONFIGURATION)
+                .select(new QPlayerDetails(player.name, player.age, player.inSeason, player.weeklySalary, team.name)), playerQueryParam);
+    }
+
+    public SQLQuery<PlayerDetails> select(PlayerQueryParam playerQueryParam, Pageable pageable) {
+        SQLQuery<PlayerDetails> query = select(playerQueryParam)
+                .orderBy(SORT_REGISTRY.orderBy(pageable.getSort()));
+        if (pageable.isPaged()) {
+            query.offset(pageable.getOffset()).limit(pageable.getPageSize());
+        }
+        return query;
+    }
+
+    /**
+     * {@code player_id} followed by the {@link PlayerDetails} columns, in {@code (weekly_salary nulls first, player_id)}
+     * order after the cursor.
+     */
+    public SQLQuery<Tuple> selectAfter(PlayerQueryParam playerQueryParam, PlayerCursor cursor, int limit) {
+        return where(new SQLQuery<Void>(CONFIGURATION)
+                .select(player.playerId, player.name, player.age, player.inSeason, player.weeklySalary, team.name), playerQueryParam)
+                .where(after(cursor, player.weeklySalary, player.playerId))
+                .orderBy(player.weeklySalary.asc().nullsFirst(), player.playerId.asc())
+                .limit(limit);
+    }
+
+    public SQLQuery<Long> count(PlayerQueryParam playerQueryParam) {
+        return where(new SQLQuery<Void>(CONFIGURATION).select(player.playerId.count()), playerQueryParam);
+    }
+
+    private <T> SQLQuery<T> where(SQLQuery<T> query, PlayerQueryParam playerQueryParam) {
+        query.from(player);
+        if (playerQueryParam.getTeamName() == null) {
+            query.leftJoin(team).on(player.teamId.eq(team.teamId));
+        } else {
+            query.join(team).on(player.teamId.eq(team.teamId));
+        }
+        return query.where(playerNameIndex.playerName(player.name, playerQueryParam),
+                condition(playerQueryParam.getAge(), player.age::eq),
+                playerNameIndex.teamName(team.name, playerQueryParam));
+    }
+
+    private <T> BooleanExpression condition(T value, Function<T, BooleanExpression> function) {
+        return Optional.ofNullable(value).map(function).orElse(null);
+    }
+}
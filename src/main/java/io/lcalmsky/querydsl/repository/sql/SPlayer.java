@@ -0,0 +1,39 @@
+package io.lcalmsky.querydsl.repository.sql;
+
+import com.querydsl.core.types.dsl.BooleanPath;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.sql.ColumnMetadata;
+import com.querydsl.sql.PrimaryKey;
+import com.querydsl.sql.RelationalPathBase;
+
+import java.sql.Types;
+
+import static com.querydsl.core.types.PathMetadataFactory.forVariable;
+
+/**
+ * Querydsl SQL metamodel of the {@code player} table Hibernate creates for {@link io.lcalmsky.querydsl.domain.Player},
+ * written by hand in the shape {@code querydsl-sql-codegen} would generate it. Keep it in step with the entity.
+ */
+public class SPlayer extends RelationalPathBase<SPlayer> {
+    public static final SPlayer player = new SPlayer("player");
+
+    public final NumberPath<Long> playerId = createNumber("playerId", Long.class);
+    public final StringPath name = createString("name");
+    public final NumberPath<Integer> age = createNumber("age", Integer.class);
+    public final NumberPath<Long> teamId = createNumber("teamId", Long.class);
+    public final BooleanPath inSeason = createBoolean("inSeason");
+    public final NumberPath<Integer> weeklySalary = createNumber("weeklySalary", Integer.class);
+
+    public final PrimaryKey<SPlayer> primary = createPrimaryKey(playerId);
+
+    public SPlayer(String variable) {
+        super(SPlayer.class, forVariable(variable), null, "player");
+        addMetadata(playerId, ColumnMetadata.named("player_id").withIndex(1).ofType(Types.BIGINT).notNull());
+        addMetadata(name, ColumnMetadata.named("name").withIndex(2).ofType(Types.VARCHAR).withSize(255));
+        addMetadata(age, ColumnMetadata.named("age").withIndex(3).ofType(Types.INTEGER).notNull());
+        addMetadata(teamId, ColumnMetadata.named("team_id").withIndex(4).ofType(Types.BIGINT));
+        addMetadata(inSeason, ColumnMetadata.named("in_season").withIndex(5).ofType(Types.BOOLEAN));
+        addMetadata(weeklySalary, ColumnMetadata.named("weekly_salary").withIndex(6).ofType(Types.INTEGER));
+    }
+}
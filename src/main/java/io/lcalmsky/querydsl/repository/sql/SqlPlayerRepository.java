@@ -0,0 +1,114 @@
+package io.lcalmsky.querydsl.repository.sql;
+
+import com.querydsl.sql.SQLBindings;
+import com.querydsl.sql.SQLQuery;
+import io.lcalmsky.querydsl.domain.CursorPage;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.param.PlayerCursor;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.repository.CustomPlayerRepository;
+import io.lcalmsky.querydsl.repository.cache.PlayerCountCache;
+import io.lcalmsky.querydsl.repository.cache.PlayerSearchCache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static io.lcalmsky.querydsl.repository.PlayerQuerySupport.STREAM_FETCH_SIZE;
+
+/**
+ * The DTO searches as plain SQL: queries come from {@link PlayerSqlQueries} and rows are read straight from the
+ * {@link ResultSet} into {@link PlayerDetails}, with no JPQL translation, query plan cache or result transformer in
+ * between. Runs on the connection of the surrounding JPA transaction, so replica routing and the search and count
+ * caches behave as they do for the JPA repository.
+ */
+@Component
+@Transactional(readOnly = true)
+public class SqlPlayerRepository implements CustomPlayerRepository {
+    private final PlayerSqlQueries playerSqlQueries;
+    private final PlayerCountCache playerCountCache;
+    private final PlayerSearchCache playerSearchCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public SqlPlayerRepository(PlayerSqlQueries playerSqlQueries, PlayerCountCache playerCountCache, PlayerSearchCache playerSearchCache,
+                               DataSource dataSource) {
+        this.playerSqlQueries = playerSqlQueries;
+        this.playerCountCache = playerCountCache;
+        this.playerSearchCache = playerSearchCache;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(STREAM_FETCH_SIZE);
+    }
+
+    @Override
+    public List<PlayerDetails> findPlayerTeamBy(PlayerQueryParam playerQueryParam) {
+        return playerSearchCache.get(PlayerDetails.class, playerQueryParam,
+                () -> query(playerSqlQueries.select(playerQueryParam)));
+    }
+
+    @Override
+    public Stream<PlayerDetails> streamPlayerTeamBy(PlayerQueryParam playerQueryParam) {
+        SQLBindings sql = playerSqlQueries.select(playerQueryParam).getSQL();
+        return streamingJdbcTemplate.queryForStream(sql.getSQL(), (resultSet, rowNum) -> playerDetails(resultSet, 1),
+                sql.getNullFriendlyBindings().toArray());
+    }
+
+    @Override
+    public Page<PlayerDetails> findPlayerTeamPageBy(PlayerQueryParam playerQueryParam, Pageable pageable) {
+        List<PlayerDetails> playerDetails = query(playerSqlQueries.select(playerQueryParam, pageable));
+
+        return PageableExecutionUtils.getPage(playerDetails, pageable, () -> count(playerSqlQueries.count(playerQueryParam)));
+    }
+
+    @Override
+    public Page<PlayerDetails> findPlayerTeamCountPageBy(PlayerQueryParam playerQueryParam, Pageable pageable) {
+        List<PlayerDetails> playerDetails = query(playerSqlQueries.select(playerQueryParam, pageable));
+
+        return PageableExecutionUtils.getPage(playerDetails, pageable,
+                () -> playerCountCache.count(playerQueryParam, () -> count(playerSqlQueries.count(playerQueryParam))));
+    }
+
+    @Override
+    public CursorPage<PlayerDetails> findPlayerTeamCursorBy(PlayerQueryParam playerQueryParam, String cursor, int size) {
+        SQLBindings sql = playerSqlQueries.selectAfter(playerQueryParam, PlayerCursor.decode(cursor), size + 1).getSQL();
+        return jdbcTemplate.query(sql.getSQL(), resultSet -> {
+            List<PlayerDetails> content = new ArrayList<>(size);
+            long lastId = 0;
+            while (content.size() < size && resultSet.next()) {
+                lastId = resultSet.getLong(1);
+                content.add(playerDetails(resultSet, 2));
+            }
+            String nextCursor = resultSet.next()
+                    ? PlayerCursor.of(content.get(content.size() - 1).getWeeklySalary(), lastId).encode()
+                    : null;
+            return CursorPage.of(content, nextCursor);
+        }, sql.getNullFriendlyBindings().toArray());
+    }
+
+    private List<PlayerDetails> query(SQLQuery<PlayerDetails> query) {
+        SQLBindings sql = query.getSQL();
+        return jdbcTemplate.query(sql.getSQL(), (resultSet, rowNum) -> playerDetails(resultSet, 1),
+                sql.getNullFriendlyBindings().toArray());
+    }
+
+    private long count(SQLQuery<Long> query) {
+        SQLBindings sql = query.getSQL();
+        Long count = jdbcTemplate.queryForObject(sql.getSQL(), Long.class, sql.getNullFriendlyBindings().toArray());
+        return count == null ? 0 : count;
+    }
+
+    private static PlayerDetails playerDetails(ResultSet resultSet, int column) throws SQLException {
+        return new PlayerDetails(resultSet.getString(column), resultSet.getObject(column + 1, Integer.class),
+                resultSet.getObject(column + 2, Boolean.class), resultSet.getObject(column + 3, Integer.class), resultSet.getString(column + 4));
+    }
+}
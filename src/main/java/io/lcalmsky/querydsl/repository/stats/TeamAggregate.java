@@ -0,0 +1,64 @@
+package io.lcalmsky.querydsl.repository.stats;
+
+import io.lcalmsky.querydsl.domain.TeamStats;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Running count and sums of one team's ages and weekly salaries, with the values also kept as sorted multisets so
+ * {@code max}/{@code min} survive removals. Null salaries are left out the way SQL aggregates leave them out.
+ * Not thread-safe.
+ */
+class TeamAggregate {
+    private final NavigableMap<Integer, Long> ages = new TreeMap<>();
+    private final NavigableMap<Integer, Long> weeklySalaries = new TreeMap<>();
+    private long players;
+    private long ageSum;
+    private long salaried;
+    private long weeklySalarySum;
+
+    void addAge(int age, long count) {
+        players += count;
+        ageSum += age * count;
+        merge(ages, age, count);
+    }
+
+    void addWeeklySalary(Integer weeklySalary, long count) {
+        if (weeklySalary == null) {
+            return;
+        }
+        salaried += count;
+        weeklySalarySum += weeklySalary * count;
+        merge(weeklySalaries, weeklySalary, count);
+    }
+
+    boolean isEmpty() {
+        return players == 0;
+    }
+
+    TeamStats toStats(String teamName) {
+        return TeamStats.of(teamName,
+                players,
+                ageSum,
+                players == 0 ? null : (double) ageSum / players,
+                max(ages),
+                min(ages),
+                weeklySalarySum,
+                salaried == 0 ? null : (double) weeklySalarySum / salaried,
+                max(weeklySalaries),
+                min(weeklySalaries));
+    }
+
+    private static void merge(NavigableMap<Integer, Long> values, int value, long count) {
+        values.merge(value, count, (current, delta) -> current + delta == 0 ? null : current + delta);
+    }
+
+    private static Integer max(NavigableMap<Integer, Long> values) {
+        return values.isEmpty() ? null : values.lastKey();
+    }
+
+    private static Integer min(NavigableMap<Integer, Long> values) {
+        return values.isEmpty() ? null : values.firstKey();
+    }
+}
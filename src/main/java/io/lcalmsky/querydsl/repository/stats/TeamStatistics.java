@@ -0,0 +1,141 @@
+package io.lcalmsky.querydsl.repository.stats;
+
+import com.querydsl.core.types.dsl.NumberExpression;
+import io.lcalmsky.querydsl.domain.TeamStats;
+import io.lcalmsky.querydsl.event.PlayerChange;
+import io.lcalmsky.querydsl.event.PlayerChangedEvent;
+import io.lcalmsky.querydsl.event.PlayerSnapshot;
+import io.lcalmsky.querydsl.event.TeamDeltas;
+import io.lcalmsky.querydsl.repository.EventDrivenSnapshot;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static io.lcalmsky.querydsl.domain.QPlayer.player;
+import static io.lcalmsky.querydsl.domain.QTeam.team;
+
+/**
+ * Age and weekly salary aggregates grouped by team name, the same numbers as a {@code group by team.name} over
+ * players joined to their team. Built once with grouped queries and then applied delta by delta from write events as
+ * an {@link EventDrivenSnapshot}, so reads never touch the player table. Bulk changes are applied from the per-team
+ * counts the writer took of the rows it changed; only a bulk event without them, such as one from a native statement,
+ * forces a rebuild on the next read.
+ */
+@Component
+public class TeamStatistics extends EventDrivenSnapshot {
+    private final NavigableMap<String, TeamAggregate> aggregates = new TreeMap<>();
+    private final Map<Long, String> teamNames = new HashMap<>();
+
+    public TeamStatistics(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        super(entityManager, transactionManager);
+    }
+
+    public List<TeamStats> findAll() {
+        return read(() -> aggregates.entrySet().stream()
+                .map(entry -> entry.getValue().toStats(entry.getKey()))
+                .collect(Collectors.toList()));
+    }
+
+    public Optional<TeamStats> findByTeamName(String teamName) {
+        return read(() -> Optional.ofNullable(aggregates.get(teamName)).map(aggregate -> aggregate.toStats(teamName)));
+    }
+
+    @Override
+    protected void apply(PlayerChange change) {
+        switch (change.getType()) {
+            case INSERT:
+                add(change.getAfter(), 1);
+                break;
+            case DELETE:
+                add(change.getBefore(), -1);
+                break;
+            default:
+                if (change.getBefore() == null) {
+                    invalidate();
+                } else {
+                    add(change.getBefore(), -1);
+                    add(change.getAfter(), 1);
+                }
+        }
+    }
+
+    @Override
+    protected boolean applyBulk(PlayerChangedEvent event) {
+        if (event.getTeamDeltas() == null) {
+            return false;
+        }
+        event.getTeamDeltas().getTeams().forEach(this::add);
+        return true;
+    }
+
+    private void add(Long teamId, TeamDeltas.Delta delta) {
+        String teamName = teamId == null ? null : teamNames.get(teamId);
+        if (teamName == null) {
+            return;
+        }
+        TeamAggregate aggregate = aggregates.computeIfAbsent(teamName, name -> new TeamAggregate());
+        delta.getAges().forEach(aggregate::addAge);
+        delta.getWeeklySalaries().forEach(aggregate::addWeeklySalary);
+        if (aggregate.isEmpty()) {
+            aggregates.remove(teamName);
+        }
+    }
+
+    private void add(PlayerSnapshot snapshot, long delta) {
+        String teamName = snapshot.getTeamId() == null ? null : teamNames.get(snapshot.getTeamId());
+        if (teamName == null) {
+            return;
+        }
+        TeamAggregate aggregate = aggregates.computeIfAbsent(teamName, name -> new TeamAggregate());
+        aggregate.addAge(snapshot.getAge(), delta);
+        aggregate.addWeeklySalary(snapshot.getWeeklySalary(), delta);
+        if (aggregate.isEmpty()) {
+            aggregates.remove(teamName);
+        }
+    }
+
+    @Override
+    protected boolean isKnownTeam(Long teamId) {
+        return teamNames.containsKey(teamId);
+    }
+
+    @Override
+    protected void addTeam(Long teamId, String name) {
+        teamNames.put(teamId, name);
+    }
+
+    @Override
+    protected void reload() {
+        aggregates.clear();
+        teamNames.clear();
+        queryFactory.select(team.id, team.name)
+                .from(team)
+                .fetch()
+                .forEach(row -> teamNames.put(row.get(team.id), row.get(team.name)));
+        NumberExpression<Long> count = player.count();
+        queryFactory.select(team.name, player.age, count)
+                .from(player)
+                .join(player.team, team)
+                .groupBy(team.name, player.age)
+                .fetch()
+                .forEach(row -> aggregates.computeIfAbsent(row.get(team.name), name -> new TeamAggregate())
+                        .addAge(Objects.requireNonNull(row.get(player.age)), Objects.requireNonNull(row.get(count))));
+        queryFactory.select(team.name, player.weeklySalary, count)
+                .from(player)
+                .join(player.team, team)
+                .where(player.weeklySalary.isNotNull())
+                .groupBy(team.name, player.weeklySalary)
+                .fetch()
+                .forEach(row -> aggregates.computeIfAbsent(row.get(team.name), name -> new TeamAggregate())
+                        .addWeeklySalary(row.get(player.weeklySalary), Objects.requireNonNull(row.get(count))));
+    }
+}
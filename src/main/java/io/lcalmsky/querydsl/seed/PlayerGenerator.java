@@ -0,0 +1,81 @@
+package io.lcalmsky.querydsl.seed;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic player rows. Team sizes follow a Zipf distribution so a few teams are much larger than the rest, ages a
+ * clamped normal distribution and weekly salaries a log-normal one rounded to the thousand, which is roughly what
+ * squad lists look like. Names repeat the way real ones do.
+ */
+class PlayerGenerator {
+    private static final List<String> FIRST_NAMES = List.of("Harry", "James", "Kevin", "Raheem", "Dele", "Hugo", "Toby",
+            "Moussa", "Erik", "Lukas", "Heungmin", "Bruno", "Marcus", "Jack", "Mason", "Phil", "Kyle", "Declan", "Jordan",
+            "Bukayo", "Mohamed", "Virgil", "Sadio", "Riyad", "Ilkay", "Ruben", "Joao", "Luis", "Diego", "Carlos", "Paul",
+            "Thomas", "Leroy", "Kai", "Timo", "Romelu", "Jamie", "Wilfried", "Dominic", "Takumi");
+    private static final List<String> LAST_NAMES = List.of("Kane", "Son", "De Bruyne", "Sterling", "Alli", "Lloris",
+            "Alderweireld", "Sissoko", "Lamela", "Moura", "Fernandes", "Rashford", "Grealish", "Mount", "Foden", "Walker",
+            "Rice", "Henderson", "Saka", "Salah", "Van Dijk", "Mane", "Mahrez", "Gundogan", "Dias", "Cancelo", "Silva",
+            "Costa", "Pogba", "Muller", "Sane", "Havertz", "Werner", "Lukaku", "Vardy", "Zaha", "Kim", "Park", "Lee",
+            "Minamino");
+    private static final List<String> CITIES = List.of("London", "Manchester", "Liverpool", "Leeds", "Newcastle",
+            "Birmingham", "Brighton", "Leicester", "Southampton", "Norwich", "Seoul", "Busan", "Madrid", "Milan",
+            "Munich", "Paris", "Lisbon", "Porto", "Amsterdam", "Glasgow");
+    private static final List<String> SUFFIXES = List.of("United", "City", "Rovers", "Athletic", "Wanderers", "Albion",
+            "F.C.");
+
+    private final PlayerSeederProperties properties;
+    private final double[] cumulativeTeamWeights;
+
+    PlayerGenerator(PlayerSeederProperties properties) {
+        this.properties = properties;
+        this.cumulativeTeamWeights = new double[properties.getTeams()];
+        double sum = 0;
+        for (int rank = 0; rank < cumulativeTeamWeights.length; rank++) {
+            sum += 1 / Math.pow(rank + 1, properties.getTeamSizeSkew());
+            cumulativeTeamWeights[rank] = sum;
+        }
+    }
+
+    static String teamName(int index) {
+        int combinations = CITIES.size() * SUFFIXES.size();
+        String name = CITIES.get(index % CITIES.size()) + " " + SUFFIXES.get(index / CITIES.size() % SUFFIXES.size());
+        return index < combinations ? name : name + " " + (index / combinations + 1);
+    }
+
+    String name(SplittableRandom random) {
+        return FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size())) + " " + LAST_NAMES.get(random.nextInt(LAST_NAMES.size()));
+    }
+
+    /**
+     * Index into the team list, weighted by team size.
+     */
+    int team(SplittableRandom random) {
+        double value = random.nextDouble() * cumulativeTeamWeights[cumulativeTeamWeights.length - 1];
+        int index = Arrays.binarySearch(cumulativeTeamWeights, value);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    int age(SplittableRandom random) {
+        long age = Math.round(properties.getAgeMean() + gaussian(random) * properties.getAgeStandardDeviation());
+        return (int) Math.max(properties.getMinAge(), Math.min(properties.getMaxAge(), age));
+    }
+
+    int weeklySalary(SplittableRandom random) {
+        double salary = properties.getMedianWeeklySalary() * Math.exp(gaussian(random) * properties.getWeeklySalarySpread());
+        return (int) Math.max(1_000, Math.min(properties.getMaxWeeklySalary(), Math.round(salary / 1_000) * 1_000));
+    }
+
+    boolean inSeason(SplittableRandom random) {
+        return random.nextDouble() < properties.getInSeasonRate();
+    }
+
+    /**
+     * Box-Muller, since {@link SplittableRandom} has no {@code nextGaussian} on Java 11.
+     */
+    private static double gaussian(SplittableRandom random) {
+        double u = 1 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
@@ -0,0 +1,163 @@
+package io.lcalmsky.querydsl.seed;
+
+import io.lcalmsky.querydsl.domain.BulkProgress;
+import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.Team;
+import io.lcalmsky.querydsl.event.PlayerChangePublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.SequenceGenerator;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the database with {@code player.seed.teams} teams and {@code player.seed.players} generated players when the
+ * {@code seed} profile is active. Teams go through JPA; players are written with plain JDBC batches, one transaction
+ * per batch, by {@code player.seed.parallelism} threads, with ids taken above the current maximum and the player
+ * sequence moved past them afterwards (H2 sequence syntax). Nothing else should write players while it runs.
+ */
+@Slf4j
+@Profile("seed")
+@Component
+public class PlayerSeeder {
+    private static final String INSERT_PLAYER = "insert into player (player_id, name, age, team_id, in_season, weekly_salary) values (?, ?, ?, ?, ?, ?)";
+    private static final SequenceGenerator PLAYER_SEQUENCE = playerSequence();
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PlayerChangePublisher changePublisher;
+    private final PlayerSeederProperties properties;
+
+    public PlayerSeeder(EntityManager entityManager, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                        PlayerChangePublisher changePublisher, PlayerSeederProperties properties) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.changePublisher = changePublisher;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        seed();
+    }
+
+    public BulkProgress seed() {
+        if (properties.getTeams() < 1) {
+            throw new IllegalArgumentException("player.seed.teams must be at least 1");
+        }
+        long start = System.nanoTime();
+        PlayerGenerator generator = new PlayerGenerator(properties);
+        List<Long> teamIds = transactionTemplate.execute(status -> saveTeams());
+        long firstId = firstPlayerId();
+        int totalBatches = (int) ((properties.getPlayers() + properties.getBatchSize() - 1) / properties.getBatchSize());
+
+        AtomicInteger completedBatches = new AtomicInteger();
+        AtomicLong insertedRows = new AtomicLong();
+        ExecutorService executorService = Executors.newFixedThreadPool(properties.getParallelism(), new CustomizableThreadFactory("player-seed-"));
+        try {
+            CompletableFuture<?>[] futures = new CompletableFuture[totalBatches];
+            for (int batch = 0; batch < totalBatches; batch++) {
+                long fromId = firstId + (long) batch * properties.getBatchSize();
+                int size = (int) Math.min(properties.getBatchSize(), properties.getPlayers() - (long) batch * properties.getBatchSize());
+                SplittableRandom random = new SplittableRandom(properties.getRandomSeed() + batch);
+                futures[batch] = CompletableFuture.runAsync(() -> {
+                    transactionTemplate.executeWithoutResult(status -> insertPlayers(generator, random, teamIds, fromId, size));
+                    long rows = insertedRows.addAndGet(size);
+                    int completed = completedBatches.incrementAndGet();
+                    if (completed % Math.max(1, totalBatches / 10) == 0) {
+                        log.info("seeded {}/{} players, {} rows/s", rows, properties.getPlayers(), rowsPerSecond(rows, start));
+                    }
+                }, executorService);
+            }
+            CompletableFuture.allOf(futures).join();
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        restartPlayerSequence(firstId + properties.getPlayers());
+        // the rows bypassed Hibernate, so caches and in-memory indexes have to reload
+        changePublisher.publishBulk();
+        log.info("seeded {} teams and {} players in {} ms, {} rows/s", teamIds.size(), insertedRows.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), rowsPerSecond(insertedRows.get(), start));
+        return BulkProgress.of(completedBatches.get(), totalBatches, insertedRows.get());
+    }
+
+    private List<Long> saveTeams() {
+        List<Long> teamIds = new ArrayList<>(properties.getTeams());
+        for (int i = 0; i < properties.getTeams(); i++) {
+            Team team = new Team(PlayerGenerator.teamName(i));
+            entityManager.persist(team);
+            teamIds.add(team.getId());
+        }
+        return teamIds;
+    }
+
+    private void insertPlayers(PlayerGenerator generator, SplittableRandom random, List<Long> teamIds, long fromId, int size) {
+        jdbcTemplate.batchUpdate(INSERT_PLAYER, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, fromId + i);
+                ps.setString(2, generator.name(random));
+                ps.setInt(3, generator.age(random));
+                ps.setLong(4, teamIds.get(generator.team(random)));
+                ps.setBoolean(5, generator.inSeason(random));
+                ps.setInt(6, generator.weeklySalary(random));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return size;
+            }
+        });
+    }
+
+    /**
+     * Above both the existing rows and every id block Hibernate may already have taken from the sequence.
+     */
+    private long firstPlayerId() {
+        Long sequence = jdbcTemplate.queryForObject("select next value for " + PLAYER_SEQUENCE.sequenceName(), Long.class);
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(player_id), 0) from player", Long.class);
+        return Math.max(Objects.requireNonNull(sequence), Objects.requireNonNull(maxId)) + 1;
+    }
+
+    /**
+     * Moves the sequence far enough that the next pooled block Hibernate hands out starts above {@code nextId}.
+     */
+    private void restartPlayerSequence(long nextId) {
+        jdbcTemplate.execute("alter sequence " + PLAYER_SEQUENCE.sequenceName() + " restart with " + (nextId + PLAYER_SEQUENCE.allocationSize()));
+    }
+
+    private static long rowsPerSecond(long rows, long start) {
+        return rows * TimeUnit.SECONDS.toNanos(1) / Math.max(1, System.nanoTime() - start);
+    }
+
+    private static SequenceGenerator playerSequence() {
+        try {
+            return Player.class.getDeclaredField("id").getAnnotation(SequenceGenerator.class);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.lcalmsky.querydsl.seed;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "player.seed")
+public class PlayerSeederProperties {
+    private int teams = 100;
+    private long players = 1_000_000;
+    /**
+     * Players per JDBC batch; each batch commits on its own.
+     */
+    private int batchSize = 10_000;
+    private int parallelism = 4;
+    /**
+     * Same seed, same data set.
+     */
+    private long randomSeed = 42;
+    /**
+     * Zipf exponent of team sizes; 0 spreads players evenly.
+     */
+    private double teamSizeSkew = 0.8;
+    private double ageMean = 26;
+    private double ageStandardDeviation = 4;
+    private int minAge = 17;
+    private int maxAge = 40;
+    /**
+     * Weekly salaries are log-normal around this median.
+     */
+    private int medianWeeklySalary = 40_000;
+    private double weeklySalarySpread = 0.9;
+    private int maxWeeklySalary = 600_000;
+    private double inSeasonRate = 0.85;
+}
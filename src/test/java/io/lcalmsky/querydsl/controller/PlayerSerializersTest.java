@@ -0,0 +1,62 @@
+package io.lcalmsky.querydsl.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.PlayerWithTeamData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerSerializersTest {
+    static final List<PlayerDetails> PLAYERS = List.of(
+            new PlayerDetails("Harry Kane", 27, true, 200000, "Tottenham Hotspur F.C."),
+            new PlayerDetails("Free Agent", null, false, null, null));
+
+    @Test
+    void sameJsonAsReflectionTest() throws Exception {
+        // given
+        ObjectMapper reflective = new ObjectMapper();
+        ObjectMapper generated = mapper(new ObjectMapper());
+        PlayerWithTeamData playerWithTeamData = new PlayerWithTeamData("Heungmin Son", 29, "Tottenham Hotspur F.C.");
+
+        // when
+        String json = generated.writeValueAsString(PLAYERS);
+
+        // then
+        assertEquals(reflective.writeValueAsString(PLAYERS), json);
+        assertEquals(reflective.writeValueAsString(playerWithTeamData), generated.writeValueAsString(playerWithTeamData));
+
+        // print
+        System.out.println(json);
+    }
+
+    @Test
+    void binaryRoundTripTest() throws Exception {
+        for (ObjectMapper objectMapper : List.of(mapper(new ObjectMapper(new SmileFactory())), mapper(new ObjectMapper(new CBORFactory())))) {
+            // when
+            byte[] bytes = objectMapper.writeValueAsBytes(PLAYERS);
+            List<PlayerDetails> players = objectMapper.readValue(bytes, new TypeReference<>() {
+            });
+
+            // then
+            assertEquals(PLAYERS, players);
+            assertTrue(bytes.length < new ObjectMapper().writeValueAsBytes(PLAYERS).length);
+
+            // print
+            System.out.printf("%s: %d bytes%n", objectMapper.getFactory().getFormatName(), bytes.length);
+        }
+    }
+
+    private static ObjectMapper mapper(ObjectMapper objectMapper) {
+        return objectMapper.registerModule(new SimpleModule()
+                .addSerializer(new PlayerSerializers.PlayerDetailsSerializer())
+                .addSerializer(new PlayerSerializers.PlayerWithTeamDataSerializer()));
+    }
+}
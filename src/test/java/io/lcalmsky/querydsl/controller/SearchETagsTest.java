@@ -0,0 +1,98 @@
+package io.lcalmsky.querydsl.controller;
+
+import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.Team;
+import io.lcalmsky.querydsl.event.PlayerChangePublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SearchETagsTest {
+    static final String SEARCH = "/v3/players?teamName=Tottenham Hotspur F.C.&size=1&sort=name";
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    PlayerChangePublisher playerChangePublisher;
+
+    @BeforeEach
+    void setup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team tottenhamHotspur = new Team("Tottenham Hotspur F.C.");
+            entityManager.persist(tottenhamHotspur);
+            entityManager.persist(new Player("Harry Kane", 27, tottenhamHotspur));
+            entityManager.persist(new Player("Heungmin Son", 29, tottenhamHotspur));
+        });
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Player").executeUpdate();
+            entityManager.createQuery("delete from Team").executeUpdate();
+        });
+        playerChangePublisher.publishBulk();
+    }
+
+    @Test
+    void notModifiedTest() throws Exception {
+        // given
+        String eTag = mockMvc.perform(get(SEARCH))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        double statements = meterRegistry.counter("player.sql.statements").count();
+
+        // when
+        mockMvc.perform(get(SEARCH).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        // then
+        assertEquals(statements, meterRegistry.counter("player.sql.statements").count());
+
+        // print
+        System.out.println(eTag);
+    }
+
+    @Test
+    void modifiedTest() throws Exception {
+        // given
+        String eTag = mockMvc.perform(get(SEARCH))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("select p from Player p where p.name = 'Harry Kane'", Player.class)
+                .getSingleResult()
+                .contactSalary(250000));
+        String changed = mockMvc.perform(get(SEARCH).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // then
+        assertNotEquals(eTag, changed);
+        assertNotEquals(changed, mockMvc.perform(get("/v3/players?teamName=Tottenham Hotspur F.C.&size=2&sort=name"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG));
+    }
+}
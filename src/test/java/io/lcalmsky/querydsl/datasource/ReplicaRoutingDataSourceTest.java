@@ -0,0 +1,88 @@
+package io.lcalmsky.querydsl.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+    DataSource first;
+    DataSource second;
+    ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        first = mock(DataSource.class);
+        second = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(first.getConnection()).thenReturn(connection);
+        when(second.getConnection()).thenThrow(new SQLException("replica down"));
+        replicaRoutingDataSource = new ReplicaRoutingDataSource(mock(DataSource.class), List.of(
+                new ReplicaRoutingDataSource.Replica("replica-1", first, null),
+                new ReplicaRoutingDataSource.Replica("replica-2", second, null)), Duration.ofSeconds(5), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void cleanup() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void writeRoutingTest() {
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, replicaRoutingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void roundRobinTest() {
+        // given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // when
+        Object firstKey = replicaRoutingDataSource.determineCurrentLookupKey();
+        Object secondKey = replicaRoutingDataSource.determineCurrentLookupKey();
+
+        // then
+        assertEquals("replica-1", firstKey);
+        assertEquals("replica-2", secondKey);
+    }
+
+    @Test
+    void unavailableReplicaTest() {
+        // given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // when
+        replicaRoutingDataSource.probe();
+
+        // then
+        assertFalse(replicaRoutingDataSource.getReplicas().get(1).isAvailable());
+        assertEquals("replica-1", replicaRoutingDataSource.determineCurrentLookupKey());
+        assertEquals("replica-1", replicaRoutingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void primaryFallbackTest() throws SQLException {
+        // given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(first.getConnection()).thenThrow(new SQLException("replica down"));
+
+        // when
+        replicaRoutingDataSource.probe();
+
+        // then
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, replicaRoutingDataSource.determineCurrentLookupKey());
+    }
+}
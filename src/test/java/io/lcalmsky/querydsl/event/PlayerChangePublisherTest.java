@@ -0,0 +1,95 @@
+package io.lcalmsky.querydsl.event;
+
+import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.Team;
+import io.lcalmsky.querydsl.repository.PlayerQuerydslRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"player.events.max-changes=100", "player.ingest.chunk-size=100"})
+@RecordApplicationEvents
+class PlayerChangePublisherTest {
+    @Autowired
+    PlayerQuerydslRepository playerQuerydslRepository;
+    @Autowired
+    PlayerChangePublisher playerChangePublisher;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    ApplicationEvents applicationEvents;
+
+    @AfterEach
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Player").executeUpdate();
+            entityManager.createQuery("delete from Team").executeUpdate();
+        });
+        playerChangePublisher.publishBulk();
+    }
+
+    @Test
+    void aggregatedChangesTest() {
+        // when
+        transactionTemplate.executeWithoutResult(status -> playerQuerydslRepository.saveAll(players(50)));
+
+        // then
+        List<PlayerChangedEvent> events = applicationEvents.stream(PlayerChangedEvent.class).collect(Collectors.toList());
+        assertEquals(1, events.size());
+        assertEquals(50, events.get(0).getChanges().size());
+        assertEquals(1, applicationEvents.stream(TeamChangedEvent.class).count());
+    }
+
+    @Test
+    void largeSaveAllTest() {
+        // when
+        transactionTemplate.executeWithoutResult(status -> playerQuerydslRepository.saveAll(players(5000)));
+
+        // then
+        // the buffer never holds more than max-changes rows, so a large load ends in a single bulk event
+        List<PlayerChangedEvent> events = applicationEvents.stream(PlayerChangedEvent.class).collect(Collectors.toList());
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).isBulk());
+        assertTrue(events.get(0).getChanges().isEmpty());
+        // folded into per-team counts instead
+        assertEquals(5000, events.get(0).getTeamDeltas().getTeams().values().stream()
+                .flatMap(delta -> delta.getAges().values().stream())
+                .mapToLong(Long::longValue)
+                .sum());
+    }
+
+    @Test
+    void rollbackTest() {
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            playerQuerydslRepository.saveAll(players(10));
+            entityManager.flush();
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertEquals(0, applicationEvents.stream(PlayerChangedEvent.class).count());
+    }
+
+    private List<Player> players(int count) {
+        Team arsenal = new Team("Arsenal F.C.");
+        entityManager.persist(arsenal);
+        return IntStream.range(0, count)
+                .mapToObj(i -> new Player("Player " + i, 20 + i % 15, arsenal))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,95 @@
+package io.lcalmsky.querydsl.metrics;
+
+import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.Team;
+import io.lcalmsky.querydsl.repository.PlayerQuerydslRepository;
+import io.lcalmsky.querydsl.repository.PlayerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "player.lazy-load.threshold=1",
+        "player.lazy-load.fail-on-threshold=true"
+})
+@Transactional
+class LazyLoadGuardTest {
+    @Autowired
+    PlayerRepository playerRepository;
+    @Autowired
+    PlayerQuerydslRepository playerQuerydslRepository;
+    @Autowired
+    LazyLoadGuard lazyLoadGuard;
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        for (int i = 0; i < 5; i++) {
+            Team team = new Team("Team " + i);
+            entityManager.persist(team);
+            entityManager.persist(new Player("Player " + i, 20 + i, team));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void batchFetchTest() {
+        // given
+        List<Player> players = playerRepository.findAll();
+
+        // when
+        players.forEach(p -> p.getTeam().getName());
+
+        // then
+        assertEquals(1, lazyLoadGuard.getCount());
+    }
+
+    @Test
+    void fetchJoinTest() {
+        // given
+        List<Player> players = playerQuerydslRepository.findAllWithTeam();
+
+        // when
+        players.forEach(p -> p.getTeam().getName());
+
+        // then
+        assertEquals(0, lazyLoadGuard.getCount());
+    }
+
+    @Test
+    void entityGraphTest() {
+        // given
+        List<Player> players = playerRepository.findWithTeamByName("Player 3");
+
+        // when
+        players.forEach(p -> p.getTeam().getName());
+
+        // then
+        assertEquals(1, players.size());
+        assertEquals(0, lazyLoadGuard.getCount());
+    }
+
+    @Test
+    void thresholdTest() {
+        // given
+        List<Player> players = playerQuerydslRepository.findAll();
+        players.forEach(p -> p.getTeam().getName());
+        entityManager.clear();
+
+        // when
+        List<Player> reloaded = playerQuerydslRepository.findAll();
+
+        // then
+        assertThrows(LazyLoadLimitExceededException.class, () -> reloaded.forEach(p -> p.getTeam().getName()));
+    }
+}
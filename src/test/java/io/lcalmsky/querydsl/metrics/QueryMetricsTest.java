@@ -0,0 +1,67 @@
+package io.lcalmsky.querydsl.metrics;
+
+import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.Team;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.repository.PlayerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Transactional
+class QueryMetricsTest {
+    @Autowired
+    PlayerRepository playerRepository;
+    @Autowired
+    QueryMetrics queryMetrics;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        Team tottenhamHotspur = new Team("Tottenham Hotspur F.C.");
+        entityManager.persist(tottenhamHotspur);
+        entityManager.persist(new Player("Harry Kane", 27, tottenhamHotspur));
+        entityManager.persist(new Player("Heungmin Son", 29, tottenhamHotspur));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void repositoryMetricsTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Tottenham Hotspur F.C.");
+        Timer timer = meterRegistry.timer("player.repository", "class", "PlayerRepositoryImpl", "method", "findPlayerTeamBy", "exception", "none");
+        long calls = timer.count();
+
+        // when
+        QueryMetrics.Scope scope = queryMetrics.open();
+        List<PlayerDetails> playerDetails = playerRepository.findPlayerTeamBy(playerQueryParam);
+        queryMetrics.close(scope, "test");
+
+        // then
+        assertEquals(calls + 1, timer.count());
+        assertEquals(2, scope.getRows());
+        assertTrue(scope.getStatements() >= 1);
+        assertEquals(1, meterRegistry.get("player.request.statements").tag("uri", "test").summary().count());
+
+        // print
+        System.out.println(scope);
+        playerDetails.forEach(System.out::println);
+    }
+}
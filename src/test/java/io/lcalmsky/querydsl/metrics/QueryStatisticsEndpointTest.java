@@ -0,0 +1,89 @@
+package io.lcalmsky.querydsl.metrics;
+
+import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.Team;
+import io.lcalmsky.querydsl.domain.param.NameMatch;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.repository.PlayerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "player.query-stats.enabled=true")
+@Transactional
+class QueryStatisticsEndpointTest {
+    @Autowired
+    QueryStatisticsEndpoint queryStatisticsEndpoint;
+    @Autowired
+    PlayerRepository playerRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        Team tottenhamHotspur = new Team("Tottenham Hotspur F.C.");
+        entityManager.persist(tottenhamHotspur);
+        entityManager.persist(new Player("Harry Kane", 27, tottenhamHotspur));
+        entityManager.persist(new Player("Heungmin Son", 29, tottenhamHotspur));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void diffTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Tottenham");
+        playerQueryParam.setTeamNameMatch(NameMatch.PREFIX);
+        playerRepository.findPlayerTeamBy(playerQueryParam);
+        queryStatisticsEndpoint.snapshot("before");
+
+        // when
+        playerRepository.findPlayerTeamBy(playerQueryParam);
+        playerRepository.findPlayerTeamBy(playerQueryParam);
+        QueryStatisticsReport report = queryStatisticsEndpoint.diff("before", null);
+
+        // then
+        assertTrue(report.isEnabled());
+        assertEquals(2, report.getHibernate().getQueryExecutionCount());
+        assertEquals(1, report.getSlowestQueries().size());
+        QueryTemplateStats stats = report.getSlowestQueries().get(0);
+        assertEquals(2, stats.getExecutions());
+        assertEquals(4, stats.getRows());
+        assertTrue(stats.getTemplate().startsWith("select player.name, player.age"));
+        assertTrue(queryStatisticsEndpoint.report(null).getHibernate().getQueryExecutionCount() >= 3);
+
+        // print
+        System.out.println(report);
+    }
+
+    @Test
+    void resetTest() {
+        // given
+        playerRepository.findPlayerTeamBy(new PlayerQueryParam());
+        queryStatisticsEndpoint.snapshot("before");
+
+        // when
+        queryStatisticsEndpoint.reset();
+
+        // then
+        assertEquals(0, queryStatisticsEndpoint.report(null).getHibernate().getQueryExecutionCount());
+        assertEquals(0, queryStatisticsEndpoint.report(null).getTemplates());
+        assertNull(queryStatisticsEndpoint.diff("before", null));
+    }
+
+    @Test
+    void templateTest() {
+        assertEquals("select p from Player p where p.name = ? and p.age > ? and p.team.id = ?1 and p.weeklySalary < :salary2",
+                QueryTemplateStatistics.template("select p from Player p\n   where p.name = 'O''Neil' and p.age > 27 and p.team.id = ?1 "
+                        + "and p.weeklySalary < :salary2"));
+    }
+}
@@ -0,0 +1,71 @@
+package io.lcalmsky.querydsl.repository;
+
+import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.Team;
+import io.lcalmsky.querydsl.domain.param.NameMatch;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.repository.memory.InMemoryPlayerRepository;
+import io.lcalmsky.querydsl.repository.name.PlayerNameIndex;
+import io.lcalmsky.querydsl.repository.stats.TeamStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The only replica is an empty database, standing in for one that lags behind: a load routed to it would fail or
+ * miss the committed rows.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "player.datasource.routing.replicas[0].name=lagging-replica",
+        "player.datasource.routing.replicas[0].url=jdbc:h2:mem:lagging-replica;DB_CLOSE_DELAY=-1",
+        "player.datasource.routing.replicas[0].username=sa"})
+@ActiveProfiles("replicas")
+class EventDrivenSnapshotTest {
+    @Autowired
+    InMemoryPlayerRepository inMemoryPlayerRepository;
+    @Autowired
+    PlayerNameIndex playerNameIndex;
+    @Autowired
+    TeamStatistics teamStatistics;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    void primaryLoadTest() {
+        // given
+        transactionTemplate.executeWithoutResult(status -> {
+            Team tottenhamHotspur = new Team("Tottenham Hotspur F.C.");
+            entityManager.persist(tottenhamHotspur);
+            entityManager.persist(new Player("Harry Kane", 27, tottenhamHotspur));
+        });
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Tottenham Hotspur F.C.");
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // when
+        // loaded from inside a read-only transaction, which itself is routed to the replica
+        List<PlayerDetails> players = readOnly.execute(status -> inMemoryPlayerRepository.findPlayerTeamBy(playerQueryParam));
+        List<String> names = readOnly.execute(status -> playerNameIndex.findPlayerNames("Harry", NameMatch.PREFIX, 10));
+        long teamPlayers = readOnly.execute(status -> teamStatistics.findByTeamName("Tottenham Hotspur F.C.").orElseThrow().getPlayers());
+
+        // then
+        assertEquals(1, players.size());
+        assertEquals(List.of("Harry Kane"), names);
+        assertEquals(1, teamPlayers);
+    }
+}
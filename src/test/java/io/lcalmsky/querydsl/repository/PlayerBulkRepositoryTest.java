@@ -0,0 +1,128 @@
+package io.lcalmsky.querydsl.repository;
+
+import io.lcalmsky.querydsl.domain.BulkProgress;
+import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.Team;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "player.bulk.chunk-size=10")
+class PlayerBulkRepositoryTest {
+    @Autowired
+    PlayerBulkRepository playerBulkRepository;
+    @Autowired
+    PlayerRepository playerRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team tottenhamHotspur = new Team("Tottenham Hotspur F.C.");
+            Team manchesterCity = new Team("Manchester City F.C.");
+            entityManager.persist(tottenhamHotspur);
+            entityManager.persist(manchesterCity);
+            for (int i = 0; i < 50; i++) {
+                Player player = new Player("Player " + i, 20 + i % 10, i % 2 == 0 ? tottenhamHotspur : manchesterCity);
+                player.contactSalary(100000);
+                entityManager.persist(player);
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Player").executeUpdate();
+            entityManager.createQuery("delete from Team").executeUpdate();
+        });
+    }
+
+    @Test
+    void raiseSalaryTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Tottenham Hotspur F.C.");
+        List<BulkProgress> progress = new CopyOnWriteArrayList<>();
+
+        // when
+        BulkProgress result = playerBulkRepository.raiseSalary(playerQueryParam, 0.1f, progress::add);
+
+        // then
+        assertEquals(25, result.getAffectedRows());
+        assertTrue(result.isDone());
+        // 25 matching players in chunks of 10, however the ids of the other team interleave with them
+        assertEquals(3, result.getTotalChunks());
+        assertEquals(result.getTotalChunks(), progress.size());
+        List<Player> players = playerRepository.findAll();
+        players.forEach(p -> assertEquals(p.getName().matches("Player \\d*[02468]") ? 110000 : 100000, p.getWeeklySalary()));
+
+        // print
+        progress.forEach(System.out::println);
+    }
+
+    @Test
+    void roundingTest() {
+        // given
+        float rate = 0.137f;
+        Map<String, Integer> expected = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> playerRepository.findAll().forEach(p -> {
+            int weeklySalary = 1000 + Integer.parseInt(p.getName().substring("Player ".length())) * 7919;
+            p.contactSalary(weeklySalary);
+            Player raised = new Player(p.getName());
+            raised.contactSalary(weeklySalary);
+            raised.raiseSalary(rate);
+            expected.put(raised.getName(), raised.getWeeklySalary());
+        }));
+
+        // when
+        playerBulkRepository.raiseSalary(new PlayerQueryParam(), rate, p -> {
+        });
+
+        // then
+        Map<String, Integer> actual = playerRepository.findAll().stream()
+                .collect(Collectors.toMap(Player::getName, Player::getWeeklySalary));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void noMatchTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setName("Harry Kane");
+
+        // when
+        BulkProgress result = playerBulkRepository.raiseSalary(playerQueryParam, 0.1f, p -> {
+        });
+
+        // then
+        assertEquals(0, result.getAffectedRows());
+        assertEquals(0, result.getTotalChunks());
+    }
+
+    @Test
+    void insideTransactionTest() {
+        assertThrows(IllegalTransactionStateException.class, () -> transactionTemplate.executeWithoutResult(status ->
+                playerBulkRepository.raiseSalary(new PlayerQueryParam(), 0.1f, p -> {
+                })));
+    }
+}
@@ -0,0 +1,173 @@
+package io.lcalmsky.querydsl.repository;
+
+import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.Team;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs H2 {@code EXPLAIN} on the SQL Hibernate generates for every filter combination and sort, and fails when
+ * a plan falls back to scanning a table that has an index for the query.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "io.lcalmsky.querydsl.repository.PlayerQueryPlanTest$CapturingStatementInspector")
+@Transactional
+class PlayerQueryPlanTest {
+    private static final String PLAYER_TABLE_SCAN = "PUBLIC.PLAYER.tableScan";
+    private static final String TEAM_TABLE_SCAN = "PUBLIC.TEAM.tableScan";
+
+    @Autowired
+    PlayerRepository playerRepository;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Team team = new Team("Team " + i);
+            entityManager.persist(team);
+            teams.add(team);
+        }
+        for (int i = 0; i < 500; i++) {
+            Player player = new Player("Player " + i, 18 + i % 20, teams.get(i % teams.size()));
+            player.contactSalary(1000 * (i % 300));
+            entityManager.persist(player);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    static Stream<PlayerQueryParam> filterCombinations() {
+        return IntStream.range(0, 8).mapToObj(mask -> {
+            PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+            if ((mask & 1) != 0) {
+                playerQueryParam.setName("Player 7");
+            }
+            if ((mask & 2) != 0) {
+                playerQueryParam.setAge(25);
+            }
+            if ((mask & 4) != 0) {
+                playerQueryParam.setTeamName("Team 7");
+            }
+            return playerQueryParam;
+        });
+    }
+
+    @ParameterizedTest
+    @MethodSource("filterCombinations")
+    void filterUsesIndexTest(PlayerQueryParam playerQueryParam) {
+        // when
+        playerRepository.findPlayerTeamBy(playerQueryParam);
+        String plan = explain(lastStatement());
+
+        // then
+        assertFalse(plan.contains(TEAM_TABLE_SCAN), plan);
+        if (playerQueryParam.getName() != null || playerQueryParam.getAge() != null || playerQueryParam.getTeamName() != null) {
+            assertFalse(plan.contains(PLAYER_TABLE_SCAN), plan);
+        }
+
+        // print
+        System.out.println(plan);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"name", "age", "weeklySalary"})
+    void sortUsesIndexTest(String property) {
+        // when
+        playerRepository.findPlayerTeamCountPageBy(new PlayerQueryParam(), PageRequest.of(0, 10, Sort.by(Sort.Order.asc(property))));
+        String plan = explain(lastOrderedStatement());
+
+        // then
+        assertTrue(plan.contains("index sorted"), plan);
+
+        // print
+        System.out.println(plan);
+    }
+
+    /**
+     * Ordering by team name can't be read off an index: without a team filter players drive the left join, so H2
+     * sorts the joined rows, and idx_team_name alone can't order players. What has to hold is that the team side is
+     * reached through its primary key, and with a team filter both tables through their indexes.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"", "Team 7"})
+    void teamNameSortTest(String teamName) {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName(teamName.isEmpty() ? null : teamName);
+
+        // when
+        playerRepository.findPlayerTeamCountPageBy(playerQueryParam, PageRequest.of(0, 10, Sort.by(Sort.Order.asc("team.name"))));
+        String plan = explain(lastOrderedStatement());
+
+        // then
+        assertFalse(plan.contains(TEAM_TABLE_SCAN), plan);
+        if (playerQueryParam.getTeamName() != null) {
+            assertFalse(plan.contains(PLAYER_TABLE_SCAN), plan);
+        }
+
+        // print
+        System.out.println(plan);
+    }
+
+    private String lastOrderedStatement() {
+        return CapturingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.contains("order by"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+    }
+
+    private String lastStatement() {
+        return CapturingStatementInspector.STATEMENTS.get(CapturingStatementInspector.STATEMENTS.size() - 1);
+    }
+
+    private String explain(String sql) {
+        String statement = sql.replaceAll("(?s)/\\*.*?\\*/", "").trim();
+        long parameters = statement.chars().filter(c -> c == '?').count();
+        return jdbcTemplate.query("explain " + statement, preparedStatement -> {
+            for (int i = 1; i <= parameters; i++) {
+                preparedStatement.setObject(i, null);
+            }
+        }, resultSet -> {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1));
+            }
+            return plan.toString();
+        });
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -11,9 +11,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static io.lcalmsky.querydsl.domain.QPlayer.player;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest
@@ -83,4 +87,65 @@ class PlayerQuerydslRepositoryTest {
         // print
         players.forEach(System.out::println);
     }
+
+    @Test
+    void streamingQueryTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Manchester City F.C.");
+
+        // when
+        List<PlayerWithTeamData> players;
+        try (Stream<PlayerWithTeamData> stream = playerQuerydslRepository.streamPlayerTeamBy(playerQueryParam)) {
+            players = stream.collect(Collectors.toList());
+        }
+
+        // then
+        assertEquals(2, players.size());
+
+        // print
+        players.forEach(System.out::println);
+    }
+
+    @Test
+    void bulkUpdateTest() {
+        // when
+        long affectedRows = playerQuerydslRepository.bulkUpdate(
+                update -> update.set(player.weeklySalary, player.weeklySalary.add(100000)),
+                player.weeklySalary.loe(200000));
+
+        // then
+        assertEquals(2, affectedRows);
+        assertEquals(240000, playerQuerydslRepository.findByName("Heungmin Son").get(0).getWeeklySalary());
+    }
+
+    @Test
+    void bulkDeleteTest() {
+        // when
+        long affectedRows = playerQuerydslRepository.bulkDelete(player.weeklySalary.goe(200000));
+
+        // then
+        assertEquals(3, affectedRows);
+        assertEquals(1, playerQuerydslRepository.findAll().size());
+    }
+
+    @Test
+    void saveAllTest() {
+        // given
+        Team arsenal = new Team("Arsenal F.C.");
+        entityManager.persist(arsenal);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            players.add(new Player("Player " + i, 20 + i % 15, arsenal));
+        }
+
+        // when
+        playerQuerydslRepository.saveAll(players);
+
+        // then
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Arsenal F.C.");
+        assertEquals(2500, playerQuerydslRepository.findPlayerTeamBy(playerQueryParam).size());
+        assertEquals(2500, players.stream().map(Player::getId).distinct().count());
+    }
 }
\ No newline at end of file
@@ -2,9 +2,12 @@ package io.lcalmsky.querydsl.repository;
 
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import io.lcalmsky.querydsl.domain.CursorPage;
 import io.lcalmsky.querydsl.domain.Player;
 import io.lcalmsky.querydsl.domain.PlayerDetails;
 import io.lcalmsky.querydsl.domain.Team;
+import io.lcalmsky.querydsl.domain.param.InvalidQueryParamException;
+import io.lcalmsky.querydsl.domain.param.NameMatch;
 import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,9 +21,15 @@ import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static io.lcalmsky.querydsl.domain.QPlayer.player;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @Transactional
@@ -132,6 +141,47 @@ class PlayerRepositoryTest {
         players.forEach(System.out::println);
     }
 
+    @Test
+    void nameMatchTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setName("mo");
+        playerQueryParam.setNameMatch(NameMatch.CONTAINS);
+        playerQueryParam.setTeamName("tottenham");
+        playerQueryParam.setTeamNameMatch(NameMatch.PREFIX);
+
+        // when
+        List<PlayerDetails> players = playerRepository.findPlayerTeamBy(playerQueryParam);
+        Page<PlayerDetails> page = playerRepository.findPlayerTeamCountPageBy(playerQueryParam, PageRequest.of(0, 1, Sort.by("name")));
+
+        // then
+        assertEquals(2, players.size());
+        assertEquals(2, page.getTotalElements());
+        assertEquals("Lukas Moura", page.getContent().get(0).getName());
+
+        // print
+        players.forEach(System.out::println);
+    }
+
+    @Test
+    void streamingQueryTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Tottenham Hotspur F.C.");
+
+        // when
+        List<PlayerDetails> players;
+        try (Stream<PlayerDetails> stream = playerRepository.streamPlayerTeamBy(playerQueryParam)) {
+            players = stream.collect(Collectors.toList());
+        }
+
+        // then
+        assertEquals(8, players.size());
+
+        // print
+        players.forEach(System.out::println);
+    }
+
     @Test
     void pagingTest() {
         // given
@@ -204,6 +254,133 @@ class PlayerRepositoryTest {
         players.forEach(System.out::println);
     }
 
+    @Test
+    void preparedTemplateTest() {
+        for (int mask = 0; mask < 8; mask++) {
+            // given
+            PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+            playerQueryParam.setName((mask & 1) == 0 ? null : "Heungmin Son");
+            playerQueryParam.setAge((mask & 2) == 0 ? null : 29);
+            playerQueryParam.setTeamName((mask & 4) == 0 ? null : "Tottenham Hotspur F.C.");
+            PageRequest pageRequest = PageRequest.of(0, 5, Sort.by(Sort.Order.desc("weeklySalary"), Sort.Order.asc("name")));
+
+            // when
+            Page<PlayerDetails> prepared = playerRepository.findPlayerTeamCountPageBy(playerQueryParam, pageRequest);
+            Page<PlayerDetails> built = playerRepository.findPlayerTeamPageBy(playerQueryParam, pageRequest);
+
+            // then
+            assertEquals(built.getContent(), prepared.getContent());
+            assertEquals(built.getTotalElements(), prepared.getTotalElements());
+        }
+    }
+
+    @Test
+    void sortByTeamNameTest() {
+        // when
+        Page<PlayerDetails> players = playerRepository.findPlayerTeamCountPageBy(new PlayerQueryParam(), PageRequest.of(0, 10, Sort.by(Sort.Order.desc("team.name"))));
+
+        // then
+        assertEquals("Tottenham Hotspur F.C.", players.getContent().get(0).getTeamName());
+        assertEquals("Manchester City F.C.", players.getContent().get(players.getNumberOfElements() - 1).getTeamName());
+
+        // print
+        players.forEach(System.out::println);
+    }
+
+    @Test
+    void unsupportedSortTest() {
+        assertThrows(InvalidQueryParamException.class, () -> playerRepository.findPlayerTeamCountPageBy(new PlayerQueryParam(),
+                PageRequest.of(0, 10, Sort.by(Sort.Order.asc("inSeason")))));
+    }
+
+    @Test
+    void cursorPagingTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Tottenham Hotspur F.C.");
+
+        // when
+        List<PlayerDetails> players = new ArrayList<>();
+        CursorPage<PlayerDetails> page = playerRepository.findPlayerTeamCursorBy(playerQueryParam, null, 3);
+        players.addAll(page.getContent());
+        while (page.isHasNext()) {
+            page = playerRepository.findPlayerTeamCursorBy(playerQueryParam, page.getNextCursor(), 3);
+            players.addAll(page.getContent());
+        }
+
+        // then
+        assertEquals(8, players.size());
+        assertEquals(2, page.getContent().size());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+        for (int i = 1; i < players.size(); i++) {
+            assertTrue(players.get(i - 1).getWeeklySalary() <= players.get(i).getWeeklySalary());
+        }
+
+        // print
+        players.forEach(System.out::println);
+    }
+
+    @Test
+    void cursorPagingWithoutSalaryTest() {
+        // given
+        Team tottenhamHotspur = entityManager.createQuery("select t from Team t where t.name = 'Tottenham Hotspur F.C.'", Team.class)
+                .getSingleResult();
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(new Player("Academy Player " + i, 18, tottenhamHotspur));
+        }
+        entityManager.flush();
+        entityManager.createNativeQuery("update player set weekly_salary = null where name like 'Academy Player%'").executeUpdate();
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Tottenham Hotspur F.C.");
+
+        // pages of 2 end on a row without salary, pages of 3 end right before the first salaried row
+        for (int size = 2; size <= 3; size++) {
+            // when
+            List<PlayerDetails> players = new ArrayList<>();
+            CursorPage<PlayerDetails> page = playerRepository.findPlayerTeamCursorBy(playerQueryParam, null, size);
+            players.addAll(page.getContent());
+            while (page.isHasNext()) {
+                page = playerRepository.findPlayerTeamCursorBy(playerQueryParam, page.getNextCursor(), size);
+                players.addAll(page.getContent());
+            }
+
+            // then
+            assertEquals(11, players.size());
+            assertEquals(11, players.stream().map(PlayerDetails::getName).distinct().count());
+            for (int i = 0; i < 3; i++) {
+                assertEquals("Academy Player " + i, players.get(i).getName());
+                assertNull(players.get(i).getWeeklySalary());
+            }
+            for (int i = 4; i < players.size(); i++) {
+                assertTrue(players.get(i - 1).getWeeklySalary() <= players.get(i).getWeeklySalary());
+            }
+
+            // print
+            players.forEach(System.out::println);
+        }
+    }
+
+    @Test
+    void missingInSeasonTest() {
+        // given
+        entityManager.createNativeQuery("update player set in_season = null where name = 'Harry Kane'").executeUpdate();
+        PlayerQueryParam exact = new PlayerQueryParam();
+        exact.setName("Harry Kane");
+        PlayerQueryParam prefix = new PlayerQueryParam();
+        prefix.setName("Harry");
+        prefix.setNameMatch(NameMatch.PREFIX);
+
+        // when
+        List<PlayerDetails> templatePlayers = playerRepository.findPlayerTeamBy(exact);
+        List<PlayerDetails> querydslPlayers = playerRepository.findPlayerTeamBy(prefix);
+
+        // then
+        assertEquals(1, templatePlayers.size());
+        assertFalse(templatePlayers.get(0).isInSeason());
+        assertEquals(templatePlayers, querydslPlayers);
+    }
+
     @Test
     void querydslPredicateExecutorTest() {
         // given
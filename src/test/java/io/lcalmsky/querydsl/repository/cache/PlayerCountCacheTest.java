@@ -0,0 +1,100 @@
+package io.lcalmsky.querydsl.repository.cache;
+
+import io.lcalmsky.querydsl.datasource.RoutingDataSourceProperties;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.event.PlayerChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PlayerCountCacheTest {
+    PlayerCountProperties properties;
+    PlayerCounters playerCounters;
+    RoutingDataSourceProperties routingDataSourceProperties;
+    PlayerCountCache playerCountCache;
+
+    @BeforeEach
+    void setup() {
+        properties = new PlayerCountProperties();
+        playerCounters = mock(PlayerCounters.class);
+        routingDataSourceProperties = new RoutingDataSourceProperties();
+        playerCountCache = new PlayerCountCache(properties, playerCounters, routingDataSourceProperties);
+    }
+
+    @Test
+    void cachedCountTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Tottenham Hotspur F.C.");
+        AtomicInteger queries = new AtomicInteger();
+
+        // when
+        long first = playerCountCache.count(playerQueryParam, () -> queries.incrementAndGet() * 8L);
+        long second = playerCountCache.count(playerQueryParam, () -> queries.incrementAndGet() * 8L);
+
+        // then
+        assertEquals(8, first);
+        assertEquals(8, second);
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void invalidationTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setAge(29);
+        AtomicInteger queries = new AtomicInteger();
+        playerCountCache.count(playerQueryParam, () -> queries.incrementAndGet());
+
+        // when
+        playerCountCache.onPlayerChanged(PlayerChangedEvent.bulk());
+        long count = playerCountCache.count(playerQueryParam, () -> queries.incrementAndGet());
+
+        // then
+        assertEquals(2, count);
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void replicaRoutingTest() {
+        // given
+        routingDataSourceProperties.setEnabled(true);
+        properties.setApproximate(true);
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Tottenham Hotspur F.C.");
+        AtomicInteger queries = new AtomicInteger();
+
+        // when
+        playerCountCache.count(playerQueryParam, () -> queries.incrementAndGet() * 8L);
+        playerCountCache.count(playerQueryParam, () -> queries.incrementAndGet() * 8L);
+
+        // then
+        assertEquals(2, queries.get());
+        verifyNoInteractions(playerCounters);
+    }
+
+    @Test
+    void approximateCountTest() {
+        // given
+        properties.setApproximate(true);
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Tottenham Hotspur F.C.");
+        when(playerCounters.count("Tottenham Hotspur F.C.")).thenReturn(8L);
+
+        // when
+        long count = playerCountCache.count(playerQueryParam, () -> {
+            throw new AssertionError("count query should not run");
+        });
+
+        // then
+        assertEquals(8, count);
+        verify(playerCounters).count("Tottenham Hotspur F.C.");
+    }
+}
@@ -0,0 +1,84 @@
+package io.lcalmsky.querydsl.repository.cache;
+
+import io.lcalmsky.querydsl.datasource.RoutingDataSourceProperties;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.PlayerWithTeamData;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.event.PlayerChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PlayerSearchCacheTest {
+    RoutingDataSourceProperties routingDataSourceProperties;
+    PlayerSearchCache playerSearchCache;
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        routingDataSourceProperties = new RoutingDataSourceProperties();
+        playerSearchCache = new PlayerSearchCache(new PlayerSearchCacheProperties(), routingDataSourceProperties);
+        meterRegistry = new SimpleMeterRegistry();
+        playerSearchCache.bindTo(meterRegistry);
+    }
+
+    @Test
+    void cachedSearchTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Tottenham Hotspur F.C.");
+        AtomicInteger queries = new AtomicInteger();
+
+        // when
+        playerSearchCache.get(PlayerDetails.class, playerQueryParam, () -> search(queries));
+        playerSearchCache.get(PlayerDetails.class, playerQueryParam, () -> search(queries));
+        playerSearchCache.get(PlayerWithTeamData.class, playerQueryParam, () -> List.of(new PlayerWithTeamData()));
+
+        // then
+        assertEquals(1, queries.get());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "player.search").tag("result", "hit").functionCounter().count());
+        assertEquals(2, meterRegistry.get("cache.gets").tag("cache", "player.search").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void invalidationTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setAge(29);
+        AtomicInteger queries = new AtomicInteger();
+        playerSearchCache.get(PlayerDetails.class, playerQueryParam, () -> search(queries));
+
+        // when
+        playerSearchCache.onPlayerChanged(PlayerChangedEvent.bulk());
+        playerSearchCache.get(PlayerDetails.class, playerQueryParam, () -> search(queries));
+
+        // then
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void replicaRoutingTest() {
+        // given
+        routingDataSourceProperties.setEnabled(true);
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setAge(29);
+        AtomicInteger queries = new AtomicInteger();
+
+        // when
+        playerSearchCache.get(PlayerDetails.class, playerQueryParam, () -> search(queries));
+        playerSearchCache.get(PlayerDetails.class, playerQueryParam, () -> search(queries));
+
+        // then
+        assertEquals(2, queries.get());
+    }
+
+    private List<PlayerDetails> search(AtomicInteger queries) {
+        queries.incrementAndGet();
+        return List.of(new PlayerDetails("Heungmin Son", 29, true, 140000, "Tottenham Hotspur F.C."));
+    }
+}
@@ -0,0 +1,242 @@
+package io.lcalmsky.querydsl.repository.memory;
+
+import io.lcalmsky.querydsl.domain.CursorPage;
+import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.Team;
+import io.lcalmsky.querydsl.domain.param.InvalidQueryParamException;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.event.PlayerChangedEvent;
+import io.lcalmsky.querydsl.repository.PlayerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class InMemoryPlayerRepositoryTest {
+    @Autowired
+    InMemoryPlayerRepository inMemoryPlayerRepository;
+    @Autowired
+    PlayerRepository playerRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team tottenhamHotspur = new Team("Tottenham Hotspur F.C.");
+            Team manchesterCity = new Team("Manchester City F.C.");
+            entityManager.persist(tottenhamHotspur);
+            entityManager.persist(manchesterCity);
+            for (int i = 0; i < 40; i++) {
+                Player player = new Player("Player " + i % 13, 20 + i % 7, i % 3 == 0 ? manchesterCity : tottenhamHotspur);
+                player.contactSalary(10000 * (i % 5));
+                if (i % 2 == 0) {
+                    player.begins();
+                }
+                entityManager.persist(player);
+            }
+            entityManager.persist(new Player("Free Agent", 30));
+        });
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Player").executeUpdate();
+            entityManager.createQuery("delete from Team").executeUpdate();
+        });
+        inMemoryPlayerRepository.onPlayerChanged(PlayerChangedEvent.bulk());
+    }
+
+    @Test
+    void searchTest() {
+        for (int mask = 0; mask < 8; mask++) {
+            // given
+            PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+            playerQueryParam.setName((mask & 1) == 0 ? null : "Player 3");
+            playerQueryParam.setAge((mask & 2) == 0 ? null : 23);
+            playerQueryParam.setTeamName((mask & 4) == 0 ? null : "Tottenham Hotspur F.C.");
+            PageRequest pageRequest = PageRequest.of(1, 4, Sort.by(Sort.Order.desc("weeklySalary"), Sort.Order.asc("team.name")));
+
+            // when
+            Page<PlayerDetails> memory = inMemoryPlayerRepository.findPlayerTeamCountPageBy(playerQueryParam, pageRequest);
+            Page<PlayerDetails> jpa = playerRepository.findPlayerTeamCountPageBy(playerQueryParam, pageRequest);
+
+            // then
+            assertEquals(jpa.getTotalElements(), memory.getTotalElements());
+            assertEquals(jpa.getContent(), memory.getContent());
+            assertEquals(playerRepository.findPlayerTeamBy(playerQueryParam).size(), inMemoryPlayerRepository.findPlayerTeamBy(playerQueryParam).size());
+        }
+    }
+
+    @Test
+    void streamTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Tottenham Hotspur F.C.");
+        List<PlayerDetails> expected = inMemoryPlayerRepository.findPlayerTeamBy(playerQueryParam);
+
+        // when
+        List<PlayerDetails> streamed;
+        try (Stream<PlayerDetails> stream = inMemoryPlayerRepository.streamPlayerTeamBy(playerQueryParam)) {
+            streamed = stream.collect(Collectors.toList());
+        }
+
+        // then
+        assertEquals(expected, streamed);
+        assertEquals(26, streamed.size());
+    }
+
+    @Test
+    void farPageTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        PageRequest pageRequest = PageRequest.of(Integer.MAX_VALUE / 10, 10, Sort.by("name"));
+
+        // when
+        Page<PlayerDetails> page = inMemoryPlayerRepository.findPlayerTeamCountPageBy(playerQueryParam, pageRequest);
+
+        // then
+        assertEquals(0, page.getContent().size());
+        assertEquals(41, page.getTotalElements());
+    }
+
+    @Test
+    void cursorPagingTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Tottenham Hotspur F.C.");
+        List<PlayerDetails> memory = new ArrayList<>();
+        List<PlayerDetails> jpa = new ArrayList<>();
+
+        // when
+        CursorPage<PlayerDetails> memoryPage = inMemoryPlayerRepository.findPlayerTeamCursorBy(playerQueryParam, null, 5);
+        CursorPage<PlayerDetails> jpaPage = playerRepository.findPlayerTeamCursorBy(playerQueryParam, null, 5);
+        memory.addAll(memoryPage.getContent());
+        jpa.addAll(jpaPage.getContent());
+        while (memoryPage.isHasNext()) {
+            assertEquals(jpaPage.getNextCursor(), memoryPage.getNextCursor());
+            memoryPage = inMemoryPlayerRepository.findPlayerTeamCursorBy(playerQueryParam, memoryPage.getNextCursor(), 5);
+            jpaPage = playerRepository.findPlayerTeamCursorBy(playerQueryParam, jpaPage.getNextCursor(), 5);
+            memory.addAll(memoryPage.getContent());
+            jpa.addAll(jpaPage.getContent());
+        }
+
+        // then
+        assertEquals(jpa, memory);
+        assertEquals(26, memory.size());
+    }
+
+    @Test
+    void cursorPagingWithoutSalaryTest() {
+        // given
+        transactionTemplate.executeWithoutResult(status -> {
+            Team tottenhamHotspur = entityManager
+                    .createQuery("select t from Team t where t.name = 'Tottenham Hotspur F.C.'", Team.class)
+                    .getSingleResult();
+            for (int i = 0; i < 7; i++) {
+                entityManager.persist(new Player("Academy Player " + i, 18, tottenhamHotspur));
+            }
+            entityManager.flush();
+            entityManager.createNativeQuery("update player set weekly_salary = null where name like 'Academy Player%'").executeUpdate();
+        });
+        // the native update publishes no change
+        inMemoryPlayerRepository.onPlayerChanged(PlayerChangedEvent.bulk());
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Tottenham Hotspur F.C.");
+        List<PlayerDetails> memory = new ArrayList<>();
+        List<PlayerDetails> jpa = new ArrayList<>();
+
+        // when
+        CursorPage<PlayerDetails> memoryPage = inMemoryPlayerRepository.findPlayerTeamCursorBy(playerQueryParam, null, 5);
+        CursorPage<PlayerDetails> jpaPage = playerRepository.findPlayerTeamCursorBy(playerQueryParam, null, 5);
+        memory.addAll(memoryPage.getContent());
+        jpa.addAll(jpaPage.getContent());
+        while (memoryPage.isHasNext()) {
+            assertEquals(jpaPage.getNextCursor(), memoryPage.getNextCursor());
+            memoryPage = inMemoryPlayerRepository.findPlayerTeamCursorBy(playerQueryParam, memoryPage.getNextCursor(), 5);
+            jpaPage = playerRepository.findPlayerTeamCursorBy(playerQueryParam, jpaPage.getNextCursor(), 5);
+            memory.addAll(memoryPage.getContent());
+            jpa.addAll(jpaPage.getContent());
+        }
+
+        // then
+        assertEquals(jpa, memory);
+        assertEquals(33, memory.size());
+        assertEquals(7, memory.stream().filter(playerDetails -> playerDetails.getWeeklySalary() == null).count());
+    }
+
+    @Test
+    void writeEventTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setName("Harry Kane");
+        assertEquals(0, inMemoryPlayerRepository.findPlayerTeamBy(playerQueryParam).size());
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            Team tottenhamHotspur = new Team("Tottenham Hotspur F.C.");
+            entityManager.persist(tottenhamHotspur);
+            entityManager.persist(new Player("Harry Kane", 27, tottenhamHotspur));
+        });
+
+        // then
+        List<PlayerDetails> players = inMemoryPlayerRepository.findPlayerTeamBy(playerQueryParam);
+        assertEquals(1, players.size());
+        assertEquals("Tottenham Hotspur F.C.", players.get(0).getTeamName());
+    }
+
+    @Test
+    void compactionTest() {
+        // given
+        transactionTemplate.executeWithoutResult(status -> {
+            Team arsenal = new Team("Arsenal F.C.");
+            entityManager.persist(arsenal);
+            for (int i = 0; i < 2000; i++) {
+                entityManager.persist(new Player("Bench " + i, 18 + i % 5, arsenal));
+            }
+        });
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Arsenal F.C.");
+        assertEquals(2000, inMemoryPlayerRepository.findPlayerTeamBy(playerQueryParam).size());
+
+        // when
+        for (int i = 0; i < 2; i++) {
+            transactionTemplate.executeWithoutResult(status -> entityManager
+                    .createQuery("select p from Player p where p.name like 'Bench%' order by p.id", Player.class)
+                    .setMaxResults(750)
+                    .getResultList()
+                    .forEach(entityManager::remove));
+        }
+
+        // then
+        PageRequest pageRequest = PageRequest.of(3, 20, Sort.by(Sort.Order.asc("age"), Sort.Order.desc("name")));
+        assertEquals(500, inMemoryPlayerRepository.findPlayerTeamBy(playerQueryParam).size());
+        assertEquals(playerRepository.findPlayerTeamCountPageBy(playerQueryParam, pageRequest).getContent(),
+                inMemoryPlayerRepository.findPlayerTeamCountPageBy(playerQueryParam, pageRequest).getContent());
+    }
+
+    @Test
+    void unsupportedSortTest() {
+        assertThrows(InvalidQueryParamException.class, () -> inMemoryPlayerRepository.findPlayerTeamCountPageBy(new PlayerQueryParam(),
+                PageRequest.of(0, 10, Sort.by(Sort.Order.asc("inSeason")))));
+    }
+}
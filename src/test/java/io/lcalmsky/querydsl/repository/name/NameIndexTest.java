@@ -0,0 +1,58 @@
+package io.lcalmsky.querydsl.repository.name;
+
+import io.lcalmsky.querydsl.domain.param.InvalidQueryParamException;
+import io.lcalmsky.querydsl.domain.param.NameMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NameIndexTest {
+    NameIndex nameIndex;
+
+    @BeforeEach
+    void setup() {
+        nameIndex = new NameIndex();
+        nameIndex.add("Harry Kane", 1);
+        nameIndex.add("Harry Winks", 1);
+        nameIndex.add("Heungmin Son", 2);
+        nameIndex.add("Kevin De Bruyne", 1);
+        nameIndex.add("Raheem Shaquille Sterling", 1);
+    }
+
+    @Test
+    void prefixTest() {
+        assertEquals(List.of("Harry Kane", "Harry Winks"), nameIndex.find("har", NameMatch.PREFIX, 10));
+        assertEquals(List.of("Harry Kane"), nameIndex.find("HARRY", NameMatch.PREFIX, 1));
+        assertEquals(List.of(), nameIndex.find("Zlatan", NameMatch.PREFIX, 10));
+    }
+
+    @Test
+    void containsTest() {
+        assertEquals(List.of("Harry Kane", "Harry Winks"), nameIndex.find("rry", NameMatch.CONTAINS, 10));
+        assertEquals(List.of("Harry Kane"), nameIndex.find("rry", NameMatch.CONTAINS, 1));
+        assertEquals(List.of("Raheem Shaquille Sterling"), nameIndex.find("quill", NameMatch.CONTAINS, 10));
+        assertEquals(List.of(), nameIndex.find("kane son", NameMatch.CONTAINS, 10));
+    }
+
+    @Test
+    void shortContainsTest() {
+        assertThrows(InvalidQueryParamException.class, () -> nameIndex.find("ne", NameMatch.CONTAINS, 10));
+        assertThrows(InvalidQueryParamException.class, () -> nameIndex.find("", NameMatch.CONTAINS, 10));
+    }
+
+    @Test
+    void removeTest() {
+        // when
+        nameIndex.remove("Heungmin Son");
+        nameIndex.remove("Harry Kane");
+
+        // then
+        assertEquals(List.of("Heungmin Son"), nameIndex.find("son", NameMatch.CONTAINS, 10));
+        assertEquals(List.of("Harry Winks"), nameIndex.find("harry", NameMatch.PREFIX, 10));
+        assertEquals(List.of(), nameIndex.find("Harry Kane", NameMatch.EXACT, 10));
+    }
+}
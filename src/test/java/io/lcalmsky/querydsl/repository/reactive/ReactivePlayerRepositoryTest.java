@@ -0,0 +1,131 @@
+package io.lcalmsky.querydsl.repository.reactive;
+
+import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.Team;
+import io.lcalmsky.querydsl.domain.param.InvalidQueryParamException;
+import io.lcalmsky.querydsl.domain.param.NameMatch;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.event.PlayerChangedEvent;
+import io.lcalmsky.querydsl.repository.PlayerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class ReactivePlayerRepositoryTest {
+    @Autowired
+    ReactivePlayerRepository reactivePlayerRepository;
+    @Autowired
+    PlayerRepository playerRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team tottenhamHotspur = new Team("Tottenham Hotspur F.C.");
+            Team manchesterCity = new Team("Manchester City F.C.");
+            entityManager.persist(tottenhamHotspur);
+            entityManager.persist(manchesterCity);
+            for (int i = 0; i < 25; i++) {
+                Player player = new Player("Player " + i, 20 + i % 5, i % 2 == 0 ? tottenhamHotspur : manchesterCity);
+                if (i % 3 != 0) {
+                    player.contactSalary(10000 * (i % 4 + 1));
+                }
+                entityManager.persist(player);
+            }
+            entityManager.persist(new Player("Free Agent", 22));
+        });
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Player").executeUpdate();
+            entityManager.createQuery("delete from Team").executeUpdate();
+        });
+        eventPublisher.publishEvent(PlayerChangedEvent.bulk());
+    }
+
+    @Test
+    void sameAsJpaTest() {
+        // given
+        PlayerQueryParam param = new PlayerQueryParam();
+        param.setAge(22);
+        PlayerQueryParam byTeam = new PlayerQueryParam();
+        byTeam.setTeamName("tottenham");
+        byTeam.setTeamNameMatch(NameMatch.PREFIX);
+
+        // when
+        List<PlayerDetails> players = reactivePlayerRepository.findPlayerTeamBy(param).collectList().block();
+        List<PlayerDetails> tottenhamPlayers = reactivePlayerRepository.findPlayerTeamBy(byTeam).collectList().block();
+
+        // then
+        assertEquals(sorted(playerRepository.findPlayerTeamBy(param)), sorted(players));
+        assertEquals(6, players.size());
+        assertEquals(sorted(playerRepository.findPlayerTeamBy(byTeam)), sorted(tottenhamPlayers));
+        assertEquals(13, tottenhamPlayers.size());
+
+        // print
+        players.forEach(System.out::println);
+    }
+
+    @Test
+    void pageTest() {
+        // given
+        PlayerQueryParam param = new PlayerQueryParam();
+
+        for (Sort sort : List.of(Sort.by("name"), Sort.by(Sort.Order.desc("weeklySalary"), Sort.Order.asc("team.name")))) {
+            for (int page = 0; page < 3; page++) {
+                PageRequest pageable = PageRequest.of(page, 10, sort);
+
+                // when
+                Page<PlayerDetails> players = reactivePlayerRepository.findPlayerTeamCountPageBy(param, pageable).block();
+
+                // then
+                Page<PlayerDetails> expected = playerRepository.findPlayerTeamCountPageBy(param, pageable);
+                assertEquals(expected.getContent(), players.getContent());
+                assertEquals(26, players.getTotalElements());
+
+                // print
+                System.out.println(players.getContent());
+            }
+        }
+    }
+
+    @Test
+    void invalidSortTest() {
+        // given
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("inSeason"));
+
+        // when, then
+        assertThrows(InvalidQueryParamException.class,
+                () -> reactivePlayerRepository.findPlayerTeamCountPageBy(new PlayerQueryParam(), pageable).block());
+    }
+
+    private static List<PlayerDetails> sorted(List<PlayerDetails> players) {
+        return players.stream()
+                .sorted(Comparator.comparing(PlayerDetails::getName))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,77 @@
+package io.lcalmsky.querydsl.repository.sql;
+
+import com.querydsl.sql.ColumnMetadata;
+import com.querydsl.sql.RelationalPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link SPlayer} and {@link STeam} are written by hand, so check them against the tables Hibernate creates.
+ */
+@SpringBootTest
+class SqlMetamodelTest {
+    @Autowired
+    DataSource dataSource;
+
+    @Test
+    void playerColumnsTest() throws SQLException {
+        // when
+        Map<String, String> columns = columns(SPlayer.player.getTableName());
+
+        // then
+        assertEquals(columns, columns(SPlayer.player));
+
+        // print
+        System.out.println(columns);
+    }
+
+    @Test
+    void teamColumnsTest() throws SQLException {
+        // when
+        Map<String, String> columns = columns(STeam.team.getTableName());
+
+        // then
+        assertEquals(columns, columns(STeam.team));
+
+        // print
+        System.out.println(columns);
+    }
+
+    private Map<String, String> columns(String tableName) throws SQLException {
+        Map<String, String> columns = new TreeMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet resultSet = metaData.getColumns(null, "PUBLIC", tableName.toUpperCase(), null)) {
+                while (resultSet.next()) {
+                    columns.put(resultSet.getString("COLUMN_NAME").toLowerCase(),
+                            describe(resultSet.getInt("DATA_TYPE"), resultSet.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls));
+                }
+            }
+        }
+        return columns;
+    }
+
+    private Map<String, String> columns(RelationalPath<?> table) {
+        Map<String, String> columns = new TreeMap<>();
+        table.getColumns().forEach(column -> {
+            ColumnMetadata metadata = table.getMetadata(column);
+            columns.put(metadata.getName(), describe(metadata.getJdbcType(), metadata.isNullable()));
+        });
+        return columns;
+    }
+
+    private String describe(int jdbcType, boolean nullable) {
+        return jdbcType + (nullable ? " null" : " not null");
+    }
+}
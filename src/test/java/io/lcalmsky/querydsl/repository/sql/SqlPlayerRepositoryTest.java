@@ -0,0 +1,145 @@
+package io.lcalmsky.querydsl.repository.sql;
+
+import io.lcalmsky.querydsl.domain.CursorPage;
+import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.PlayerDetails;
+import io.lcalmsky.querydsl.domain.Team;
+import io.lcalmsky.querydsl.domain.param.InvalidQueryParamException;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.event.PlayerChangedEvent;
+import io.lcalmsky.querydsl.repository.PlayerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "player.search-cache.enabled=false")
+class SqlPlayerRepositoryTest {
+    @Autowired
+    SqlPlayerRepository sqlPlayerRepository;
+    @Autowired
+    PlayerRepository playerRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team tottenhamHotspur = new Team("Tottenham Hotspur F.C.");
+            Team manchesterCity = new Team("Manchester City F.C.");
+            entityManager.persist(tottenhamHotspur);
+            entityManager.persist(manchesterCity);
+            for (int i = 0; i < 40; i++) {
+                Player player = new Player("Player " + i % 13, 20 + i % 7, i % 3 == 0 ? manchesterCity : tottenhamHotspur);
+                player.contactSalary(10000 * (i % 5));
+                if (i % 2 == 0) {
+                    player.begins();
+                }
+                entityManager.persist(player);
+            }
+            entityManager.persist(new Player("Free Agent", 30));
+        });
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Player").executeUpdate();
+            entityManager.createQuery("delete from Team").executeUpdate();
+        });
+        eventPublisher.publishEvent(PlayerChangedEvent.bulk());
+    }
+
+    @Test
+    void searchTest() {
+        for (int mask = 0; mask < 8; mask++) {
+            // given
+            PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+            playerQueryParam.setName((mask & 1) == 0 ? null : "Player 3");
+            playerQueryParam.setAge((mask & 2) == 0 ? null : 23);
+            playerQueryParam.setTeamName((mask & 4) == 0 ? null : "Tottenham Hotspur F.C.");
+            PageRequest pageRequest = PageRequest.of(1, 4, Sort.by(Sort.Order.desc("weeklySalary"), Sort.Order.asc("team.name")));
+
+            // when
+            Page<PlayerDetails> sql = sqlPlayerRepository.findPlayerTeamCountPageBy(playerQueryParam, pageRequest);
+            Page<PlayerDetails> jpa = playerRepository.findPlayerTeamCountPageBy(playerQueryParam, pageRequest);
+
+            // then
+            assertEquals(jpa.getTotalElements(), sql.getTotalElements());
+            assertEquals(jpa.getContent(), sql.getContent());
+            assertEquals(jpa.getContent(), sqlPlayerRepository.findPlayerTeamPageBy(playerQueryParam, pageRequest).getContent());
+            assertEquals(playerRepository.findPlayerTeamBy(playerQueryParam).size(), sqlPlayerRepository.findPlayerTeamBy(playerQueryParam).size());
+        }
+    }
+
+    @Test
+    void cursorPagingTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Tottenham Hotspur F.C.");
+        List<PlayerDetails> sql = new ArrayList<>();
+        List<PlayerDetails> jpa = new ArrayList<>();
+
+        // when
+        CursorPage<PlayerDetails> sqlPage = sqlPlayerRepository.findPlayerTeamCursorBy(playerQueryParam, null, 5);
+        CursorPage<PlayerDetails> jpaPage = playerRepository.findPlayerTeamCursorBy(playerQueryParam, null, 5);
+        sql.addAll(sqlPage.getContent());
+        jpa.addAll(jpaPage.getContent());
+        while (sqlPage.isHasNext()) {
+            assertEquals(jpaPage.getNextCursor(), sqlPage.getNextCursor());
+            sqlPage = sqlPlayerRepository.findPlayerTeamCursorBy(playerQueryParam, sqlPage.getNextCursor(), 5);
+            jpaPage = playerRepository.findPlayerTeamCursorBy(playerQueryParam, jpaPage.getNextCursor(), 5);
+            sql.addAll(sqlPage.getContent());
+            jpa.addAll(jpaPage.getContent());
+        }
+
+        // then
+        assertEquals(jpa, sql);
+        assertEquals(26, sql.size());
+    }
+
+    @Test
+    void streamTest() {
+        // given
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setAge(23);
+
+        // when
+        List<PlayerDetails> players = transactionTemplate.execute(status -> {
+            try (Stream<PlayerDetails> stream = sqlPlayerRepository.streamPlayerTeamBy(playerQueryParam)) {
+                return stream.collect(Collectors.toList());
+            }
+        });
+
+        // then
+        assertEquals(playerRepository.findPlayerTeamBy(playerQueryParam).size(), players.size());
+
+        // print
+        players.forEach(System.out::println);
+    }
+
+    @Test
+    void unsupportedSortTest() {
+        assertThrows(InvalidQueryParamException.class, () -> sqlPlayerRepository.findPlayerTeamCountPageBy(new PlayerQueryParam(),
+                PageRequest.of(0, 10, Sort.by(Sort.Order.asc("inSeason")))));
+    }
+}
@@ -0,0 +1,158 @@
+package io.lcalmsky.querydsl.repository.stats;
+
+import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.Team;
+import io.lcalmsky.querydsl.domain.TeamStats;
+import io.lcalmsky.querydsl.domain.param.PlayerQueryParam;
+import io.lcalmsky.querydsl.event.PlayerChangedEvent;
+import io.lcalmsky.querydsl.repository.PlayerBulkRepository;
+import io.lcalmsky.querydsl.repository.PlayerQuerydslRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static io.lcalmsky.querydsl.domain.QPlayer.player;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"player.bulk.chunk-size=10", "player.events.max-snapshot-rows=5"})
+class TeamStatisticsTest {
+    @Autowired
+    TeamStatistics teamStatistics;
+    @Autowired
+    PlayerQuerydslRepository playerQuerydslRepository;
+    @Autowired
+    PlayerBulkRepository playerBulkRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team tottenhamHotspur = new Team("Tottenham Hotspur F.C.");
+            Team manchesterCity = new Team("Manchester City F.C.");
+            entityManager.persist(tottenhamHotspur);
+            entityManager.persist(manchesterCity);
+            for (int i = 0; i < 30; i++) {
+                Player player = new Player("Player " + i, 20 + i % 9, i % 3 == 0 ? manchesterCity : tottenhamHotspur);
+                if (i % 4 != 0) {
+                    player.contactSalary(10000 * (i % 7 + 1));
+                }
+                entityManager.persist(player);
+            }
+            entityManager.persist(new Player("Free Agent", 30));
+        });
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Player").executeUpdate();
+            entityManager.createQuery("delete from Team").executeUpdate();
+        });
+        teamStatistics.onPlayerChanged(PlayerChangedEvent.bulk());
+    }
+
+    @Test
+    void loadTest() {
+        // when
+        List<TeamStats> stats = teamStatistics.findAll();
+
+        // then
+        assertEquals(expected(), stats);
+        assertEquals(10, teamStatistics.findByTeamName("Manchester City F.C.").orElseThrow().getPlayers());
+
+        // print
+        stats.forEach(System.out::println);
+    }
+
+    @Test
+    void incrementalUpdateTest() {
+        // given
+        teamStatistics.findAll();
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Tottenham Hotspur F.C.");
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            Team manchesterCity = entityManager.createQuery("select t from Team t where t.name = :name", Team.class)
+                    .setParameter("name", "Manchester City F.C.")
+                    .getSingleResult();
+            entityManager.persist(new Player("Kevin De Bruyne", 30, manchesterCity));
+            Player player = entityManager.createQuery("select p from Player p where p.name = 'Player 1'", Player.class)
+                    .getSingleResult();
+            player.contactSalary(500000);
+        });
+        playerQuerydslRepository.bulkUpdate(update -> update.set(player.age, player.age.add(1)), player.age.lt(23));
+        playerQuerydslRepository.bulkDelete(player.weeklySalary.goe(70000));
+        playerBulkRepository.raiseSalary(playerQueryParam, 0.1f, progress -> {
+        });
+
+        // then
+        assertEquals(expected(), teamStatistics.findAll());
+    }
+
+    @Test
+    void bulkChangeTest() {
+        // given
+        teamStatistics.findAll();
+        // a row no event tells about, which only a rebuild would count
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createNativeQuery("insert into player (player_id, name, age, team_id, in_season) "
+                        + "select 1000000, 'Ghost', 40, team_id, false from team where name = 'Manchester City F.C.'")
+                .executeUpdate());
+        PlayerQueryParam playerQueryParam = new PlayerQueryParam();
+        playerQueryParam.setTeamName("Tottenham Hotspur F.C.");
+
+        // when
+        long updatedRows = playerQuerydslRepository.bulkUpdate(update -> update.set(player.age, player.age.add(1)), player.age.lt(23));
+        playerBulkRepository.raiseSalary(playerQueryParam, 0.1f, progress -> {
+        });
+        List<TeamStats> stats = teamStatistics.findAll();
+
+        // then
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createNativeQuery("delete from player where player_id = 1000000")
+                .executeUpdate());
+        assertTrue(updatedRows > 5);
+        assertEquals(expected(), stats);
+    }
+
+    private List<TeamStats> expected() {
+        Map<String, List<Player>> playersByTeamName = transactionTemplate.execute(status -> entityManager
+                .createQuery("select p from Player p join fetch p.team", Player.class)
+                .getResultStream()
+                .collect(Collectors.groupingBy(p -> p.getTeam().getName(), TreeMap::new, Collectors.toList())));
+        return Objects.requireNonNull(playersByTeamName).entrySet().stream()
+                .map(entry -> {
+                    IntSummaryStatistics ages = entry.getValue().stream()
+                            .mapToInt(Player::getAge)
+                            .summaryStatistics();
+                    IntSummaryStatistics weeklySalaries = entry.getValue().stream()
+                            .map(Player::getWeeklySalary)
+                            .filter(Objects::nonNull)
+                            .mapToInt(Integer::intValue)
+                            .summaryStatistics();
+                    boolean salaried = weeklySalaries.getCount() > 0;
+                    return TeamStats.of(entry.getKey(), ages.getCount(), ages.getSum(), ages.getAverage(), ages.getMax(), ages.getMin(),
+                            weeklySalaries.getSum(),
+                            salaried ? weeklySalaries.getAverage() : null,
+                            salaried ? weeklySalaries.getMax() : null,
+                            salaried ? weeklySalaries.getMin() : null);
+                })
+                .collect(Collectors.toList());
+    }
+}
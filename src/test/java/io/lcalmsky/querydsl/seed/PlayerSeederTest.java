@@ -0,0 +1,84 @@
+package io.lcalmsky.querydsl.seed;
+
+import io.lcalmsky.querydsl.domain.BulkProgress;
+import io.lcalmsky.querydsl.domain.Player;
+import io.lcalmsky.querydsl.domain.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class PlayerSeederTest {
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+    PlayerSeederProperties properties;
+    PlayerSeeder playerSeeder;
+
+    @BeforeEach
+    void setup() {
+        properties = new PlayerSeederProperties();
+        properties.setTeams(5);
+        properties.setPlayers(2_500);
+        properties.setBatchSize(1_000);
+        properties.setParallelism(3);
+        playerSeeder = new PlayerSeeder(entityManager, jdbcTemplate, transactionManager, eventPublisher, properties);
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Player").executeUpdate();
+            entityManager.createQuery("delete from Team").executeUpdate();
+        });
+    }
+
+    @Test
+    void seedTest() {
+        // when
+        BulkProgress result = playerSeeder.seed();
+
+        // then
+        assertEquals(BulkProgress.of(3, 3, 2_500), result);
+        assertEquals(2_500, jdbcTemplate.queryForObject("select count(*) from player", Long.class));
+        assertEquals(5, jdbcTemplate.queryForObject("select count(distinct team_id) from player", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from player where age < 17 or age > 40 or weekly_salary < 1000", Long.class));
+        // Zipf-sized teams: the first team is the largest
+        assertEquals(jdbcTemplate.queryForObject("select min(team_id) from team", Long.class),
+                jdbcTemplate.queryForObject("select team_id from player group by team_id order by count(*) desc limit 1", Long.class));
+    }
+
+    @Test
+    void sequenceRestartTest() {
+        // given
+        playerSeeder.seed();
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = entityManager.createQuery("select t from Team t", Team.class).setMaxResults(1).getSingleResult();
+            for (int i = 0; i < 300; i++) {
+                entityManager.persist(new Player("Harry Kane", 27, team));
+            }
+        });
+
+        // then
+        assertEquals(2_800, jdbcTemplate.queryForObject("select count(*) from player", Long.class));
+    }
+}